@@ -0,0 +1,108 @@
+package benchmarks;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file (-rf json) with a stored baseline and exits with 1 when a benchmark
+ * got slower by more than the threshold and the two confidence intervals don't overlap, so noise alone
+ * does not fail the gate.
+ * <pre>
+ * BaselineComparator results.json baseline.json [--threshold=10] [--update]
+ * </pre>
+ * --update replaces the baseline with the results after comparing; without a baseline nothing is gated.
+ */
+public class BaselineComparator {
+
+    private record Result(String mode, double score, double error) {
+
+        // Time per operation: lower is better; throughput: higher is better
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparator <results.json> <baseline.json> [--threshold=10] [--update]");
+            System.exit(2);
+        }
+        Path current = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double threshold = 10;
+        boolean update = false;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].startsWith("--threshold=")) {
+                threshold = Double.parseDouble(args[i].substring("--threshold=".length()));
+            } else if (args[i].equals("--update")) {
+                update = true;
+            }
+        }
+
+        int regressions = 0;
+        if (Files.isRegularFile(baseline)) {
+            regressions = compare(read(current), read(baseline), threshold);
+        } else {
+            System.out.println("No baseline at " + baseline + ", nothing to compare against");
+        }
+        if (update) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(current, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline updated: " + baseline);
+        }
+        System.exit(regressions == 0 || update ? 0 : 1);
+    }
+
+    static int compare(Map<String, Result> current, Map<String, Result> baseline, double threshold) {
+        int regressions = 0;
+        System.out.printf(Locale.ROOT, "%-90s %12s %12s %8s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf(Locale.ROOT, "%-90s %12s %12.3f %8s%n", entry.getKey(), "-", now.score(), "new");
+                continue;
+            }
+            double change = (now.score() - before.score()) / before.score() * 100;
+            double worsening = now.higherIsBetter() ? -change : change;
+            boolean separated = now.higherIsBetter()
+                    ? now.score() + now.error() < before.score() - before.error()
+                    : now.score() - now.error() > before.score() + before.error();
+            boolean regressed = worsening > threshold && separated;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf(Locale.ROOT, "%-90s %12.3f %12.3f %+7.1f%% %s%n", entry.getKey(), before.score(),
+                    now.score(), change, regressed ? "REGRESSION" : "");
+        }
+        System.out.printf(Locale.ROOT, "%d regression(s) above %.1f%%%n", regressions, threshold);
+        return regressions;
+    }
+
+    // Benchmark name plus its parameters -> primary metric
+    @SuppressWarnings("unchecked")
+    static Map<String, Result> read(Path file) throws IOException {
+        List<Map<String, Object>> runs = new Json().toType(Files.readString(file), Json.LIST_OF_MAPS_TYPE);
+        Map<String, Result> results = new TreeMap<>();
+        for (Map<String, Object> run : runs) {
+            Map<String, Object> params = (Map<String, Object>) run.getOrDefault("params", Map.of());
+            String key = run.get("benchmark") + (params.isEmpty() ? "" : new TreeMap<>(params).toString());
+            Map<String, Object> metric = (Map<String, Object>) run.get("primaryMetric");
+            Object error = metric.get("scoreError");
+            results.put(key, new Result(
+                    String.valueOf(run.get("mode")),
+                    ((Number) metric.get("score")).doubleValue(),
+                    // JMH writes "NaN" when there were too few iterations for an error estimate
+                    error instanceof Number number && !Double.isNaN(number.doubleValue()) ? number.doubleValue() : 0));
+        }
+        return results;
+    }
+}
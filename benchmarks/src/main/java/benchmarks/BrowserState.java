@@ -0,0 +1,53 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import utils.AppState;
+import utils.ConfigReader;
+import utils.DriverManager;
+import utils.LocalSauceDemoServer;
+import utils.TimeoutProfile;
+import utils.WaitFactory;
+
+/**
+ * One headless browser per benchmark thread, logged in to the local SauceDemo replica and parked on the
+ * inventory page. Scope.Thread, because helpers and page objects find the session through DriverManager's
+ * thread-local, so setup must run on the thread that measures.
+ */
+@State(Scope.Thread)
+public class BrowserState {
+
+    public WebDriver driver;
+
+    @Setup(Level.Trial)
+    public void openInventory() {
+        // Plain browser, no extra instrumentation in the measured path; set before DriverManager starts its pool
+        System.setProperty("localServer.enabled", "true");
+        System.setProperty("browser.profile", "headless");
+        System.setProperty("driver.provider", "local");
+        System.setProperty("metrics.enabled", "false");
+        System.setProperty("perf.capture", "false");
+        System.setProperty("pool.minIdle", "0");
+
+        LocalSauceDemoServer.startIfEnabled();
+        driver = DriverManager.getDriver();
+        AppState.of(driver)
+                .loggedInAs(ConfigReader.getProperty("username"))
+                .landingOn(AppState.Page.INVENTORY)
+                .apply();
+        WaitFactory.get(driver, TimeoutProfile.SLOW)
+                .until(ExpectedConditions.presenceOfElementLocated(By.className("inventory_list")));
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        DriverManager.shutdown();
+        LocalSauceDemoServer.stop();
+    }
+}
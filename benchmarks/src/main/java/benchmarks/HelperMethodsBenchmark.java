@@ -0,0 +1,63 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import utils.HelperMethods;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the shared helpers on an already rendered inventory page, i.e. the framework's own
+ * overhead (wait setup, visibility check, extra round trips) on top of the raw WebDriver call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class HelperMethodsBenchmark {
+
+    // Clicking the title changes nothing, so every invocation sees the same page
+    private static final By TITLE = By.className("title");
+    private static final By PRODUCT_NAMES = By.className("inventory_item_name");
+
+    @Benchmark
+    public void click(BrowserState state) {
+        HelperMethods.click(TITLE);
+    }
+
+    @Benchmark
+    public void rawClick(BrowserState state) {
+        state.driver.findElement(TITLE).click();
+    }
+
+    @Benchmark
+    public String getText(BrowserState state) {
+        return HelperMethods.getText(TITLE);
+    }
+
+    @Benchmark
+    public String rawGetText(BrowserState state) {
+        return state.driver.findElement(TITLE).getText();
+    }
+
+    @Benchmark
+    public List<WebElement> getElements(BrowserState state) {
+        return HelperMethods.getElements(PRODUCT_NAMES);
+    }
+
+    @Benchmark
+    public List<WebElement> rawFindElements(BrowserState state) {
+        return state.driver.findElements(PRODUCT_NAMES);
+    }
+}
@@ -0,0 +1,61 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same six "Add to cart" buttons found with the XPath the page object uses and with CSS alternatives,
+ * and a single product title by XPath text match vs. id.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class LocatorBenchmark {
+
+    private static final Map<String, By> LOCATORS = Map.of(
+            "xpath-contains-id", By.xpath("//button[contains(@id,'add-to-cart')]"),
+            "css-id-prefix", By.cssSelector("button[id^='add-to-cart']"),
+            "css-data-test-prefix", By.cssSelector("button[data-test^='add-to-cart']"),
+            "css-class", By.cssSelector(".btn_inventory"),
+            "xpath-text", By.xpath("//div[@class='inventory_item_name' and text()='Sauce Labs Bike Light']"),
+            "css-id", By.cssSelector("#item_0_title_link > div"));
+
+    @State(Scope.Thread)
+    public static class Locator {
+
+        @Param({"xpath-contains-id", "css-id-prefix", "css-data-test-prefix", "css-class", "xpath-text", "css-id"})
+        public String strategy;
+
+        By by;
+
+        @Setup(Level.Trial)
+        public void resolve() {
+            by = LOCATORS.get(strategy);
+        }
+    }
+
+    @Benchmark
+    public List<WebElement> findElements(BrowserState state, Locator locator) {
+        return state.driver.findElements(locator.by);
+    }
+}
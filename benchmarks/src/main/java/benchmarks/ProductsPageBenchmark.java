@@ -0,0 +1,85 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebElement;
+import pages.ProductItem;
+import pages.ProductsPage;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductsPage list getters with a fresh page object per call ("cold", every lookup goes to the browser)
+ * and with one reused page object ("warm", lookups come from its element cache), plus the one-round-trip snapshot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class ProductsPageBenchmark {
+
+    @State(Scope.Thread)
+    public static class Page {
+
+        @Param({"cold", "warm"})
+        public String cache;
+
+        private ProductsPage warm;
+        private BrowserState browser;
+
+        @Setup(Level.Trial)
+        public void create(BrowserState browser) {
+            this.browser = browser;
+            this.warm = new ProductsPage(browser.driver);
+        }
+
+        ProductsPage get() {
+            return "warm".equals(cache) ? warm : new ProductsPage(browser.driver);
+        }
+    }
+
+    @Benchmark
+    public List<WebElement> productNames(Page page) {
+        return page.get().getAllProductNames();
+    }
+
+    @Benchmark
+    public List<WebElement> productPrices(Page page) {
+        return page.get().getAllProductPrices();
+    }
+
+    @Benchmark
+    public List<WebElement> addToCartButtons(Page page) {
+        return page.get().getAllAddToCartButtons();
+    }
+
+    @Benchmark
+    public List<WebElement> productDescriptions(Page page) {
+        return page.get().getAllProductDescriptions();
+    }
+
+    // Reads the names' text as tests do; on the warm page this is where cached elements still cost round trips
+    @Benchmark
+    public int productNameTexts(Page page) {
+        return page.get().getAllProductNames().stream().mapToInt(name -> name.getText().length()).sum();
+    }
+
+    @Benchmark
+    public List<ProductItem> inventorySnapshot(Page page) {
+        return page.get().getInventorySnapshot();
+    }
+}
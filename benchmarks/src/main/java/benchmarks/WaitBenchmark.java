@@ -0,0 +1,72 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.SmartWait;
+import utils.TimeoutProfile;
+import utils.WaitFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wait strategies for an element that is already visible, so the numbers are pure overhead:
+ * a new WebDriverWait per call, the reused WaitFactory wait, SmartWait, and a single lookup without waiting.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class WaitBenchmark {
+
+    private static final By TITLE = By.className("title");
+
+    @Benchmark
+    public WebElement newWebDriverWait(BrowserState state) {
+        return new WebDriverWait(state.driver, Duration.ofSeconds(5))
+                .until(ExpectedConditions.visibilityOfElementLocated(TITLE));
+    }
+
+    @Benchmark
+    public WebElement reusedWaitFactoryWait(BrowserState state) {
+        return WaitFactory.get(state.driver, TimeoutProfile.FAST)
+                .until(ExpectedConditions.visibilityOfElementLocated(TITLE));
+    }
+
+    @Benchmark
+    public WebElement presenceInsteadOfVisibility(BrowserState state) {
+        return WaitFactory.get(state.driver, TimeoutProfile.FAST)
+                .until(ExpectedConditions.presenceOfElementLocated(TITLE));
+    }
+
+    @Benchmark
+    public String smartWaitTextEquals(BrowserState state) {
+        return SmartWait.untilTextEquals(TITLE, "Products");
+    }
+
+    @Benchmark
+    public WebElement fluentWaitFastPolling(BrowserState state) {
+        return new FluentWait<>(state.driver)
+                .withTimeout(Duration.ofSeconds(5))
+                .pollingEvery(Duration.ofMillis(10))
+                .until(ExpectedConditions.visibilityOfElementLocated(TITLE));
+    }
+
+    @Benchmark
+    public WebElement noWait(BrowserState state) {
+        return state.driver.findElement(TITLE);
+    }
+}
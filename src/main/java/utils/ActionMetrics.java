@@ -0,0 +1,160 @@
+package utils;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collects latency of WebDriver commands, helper methods and page-object actions,
+ * aggregated per action and per test, and exports them as JSON and CSV at suite end.
+ */
+public class ActionMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(ActionMetrics.class);
+
+    private static final boolean ENABLED = ConfigReader.getBoolean("metrics.enabled", true);
+    private static final String NO_TEST = "(outside test)";
+
+    private static final Map<String, LatencyHistogram> BY_ACTION = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, LatencyHistogram>> BY_TEST = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> CURRENT_TEST = new ThreadLocal<>();
+    private static final ThreadLocal<Deque<Frame>> FRAMES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static void startTest(String testName) {
+        CURRENT_TEST.set(testName);
+    }
+
+    public static void endTest() {
+        CURRENT_TEST.remove();
+    }
+
+    public static String currentTest() {
+        String test = CURRENT_TEST.get();
+        return test != null ? test : NO_TEST;
+    }
+
+    /**
+     * Times an action; waits and retries reported while it runs are attributed to it.
+     */
+    public static <T> T time(String action, Supplier<T> body) {
+        if (!ENABLED) {
+            return body.get();
+        }
+        Deque<Frame> frames = FRAMES.get();
+        Frame frame = new Frame();
+        frames.push(frame);
+        long start = System.nanoTime();
+        try {
+            return body.get();
+        } finally {
+            frames.pop();
+            long nanos = System.nanoTime() - start;
+            record(action, nanos, frame.retries, frame.waitNanos);
+            LatencyBudget.record(action, nanos);
+        }
+    }
+
+    public static void run(String action, Runnable body) {
+        time(action, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    // Adds wait time to every action currently running on this thread
+    public static void recordWait(long nanos) {
+        if (ENABLED) {
+            FRAMES.get().forEach(frame -> frame.waitNanos += nanos);
+        }
+    }
+
+    public static void recordRetry() {
+        Frame frame = FRAMES.get().peek();
+        if (ENABLED && frame != null) {
+            frame.retries++;
+        }
+    }
+
+    public static void record(String action, long nanos, int retries, long waitNanos) {
+        if (!ENABLED) {
+            return;
+        }
+        BY_ACTION.computeIfAbsent(action, key -> new LatencyHistogram()).record(nanos, retries, waitNanos);
+        BY_TEST.computeIfAbsent(currentTest(), key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(action, key -> new LatencyHistogram()).record(nanos, retries, waitNanos);
+    }
+
+    public static LatencyHistogram histogram(String action) {
+        return BY_ACTION.get(action);
+    }
+
+    /**
+     * Writes metrics.json and metrics.csv to {@code metrics.dir} (default target/metrics).
+     */
+    public static void export() {
+        if (!ENABLED || BY_ACTION.isEmpty()) {
+            return;
+        }
+        Path dir = Path.of(ConfigReader.getProperty("metrics.dir", "target/metrics"));
+        Map<String, Object> report = new TreeMap<>();
+        report.put("actions", summaries(BY_ACTION));
+        Map<String, Object> tests = new TreeMap<>();
+        BY_TEST.forEach((test, actions) -> tests.put(test, summaries(actions)));
+        report.put("tests", tests);
+
+        StringBuilder csv = new StringBuilder("scope,test,action,count,meanMs,p50Ms,p95Ms,p99Ms,maxMs,retries,waitMs\n");
+        new TreeMap<>(BY_ACTION).forEach((action, histogram) -> appendCsv(csv, "action", "", action, histogram));
+        new TreeMap<>(BY_TEST).forEach((test, actions) ->
+                new TreeMap<>(actions).forEach((action, histogram) -> appendCsv(csv, "test", test, action, histogram)));
+
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("metrics.json"), new Json().toJson(report), StandardCharsets.UTF_8);
+            Files.writeString(dir.resolve("metrics.csv"), csv, StandardCharsets.UTF_8);
+            log.info("Action metrics written to {}", dir.toAbsolutePath());
+        } catch (IOException e) {
+            log.warn("Could not write action metrics: {}", e.getMessage());
+        }
+    }
+
+    public static void reset() {
+        BY_ACTION.clear();
+        BY_TEST.clear();
+    }
+
+    private static Map<String, Object> summaries(Map<String, LatencyHistogram> histograms) {
+        Map<String, Object> summaries = new TreeMap<>();
+        histograms.forEach((action, histogram) -> summaries.put(action, histogram.summary()));
+        return summaries;
+    }
+
+    private static void appendCsv(StringBuilder csv, String scope, String test, String action, LatencyHistogram histogram) {
+        csv.append(scope).append(',').append(quote(test)).append(',').append(quote(action));
+        histogram.summary().values().forEach(value -> csv.append(',').append(value));
+        csv.append('\n');
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static final class Frame {
+        private int retries;
+        private long waitNanos;
+    }
+}
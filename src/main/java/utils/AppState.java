@@ -0,0 +1,171 @@
+package utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Puts SauceDemo into a required state without clicking through the UI. The shop keeps its whole
+ * state in the browser (cookie "session-username", localStorage "cart-contents" as a JSON array of
+ * product ids), so seeding is one navigation to the origin, the injection, and one to the landing page:
+ * <pre>
+ * AppState.of(driver)
+ *         .loggedInAs("standard_user")
+ *         .withCart(SauceDemoProduct.BIKE_LIGHT)
+ *         .landingOn(AppState.Page.CART)
+ *         .apply();
+ * </pre>
+ * Anything left from an earlier test (cookies, storage) is replaced, not merged.
+ */
+public class AppState {
+
+    private static final String SESSION_COOKIE = "session-username";
+    private static final String CART_KEY = "cart-contents";
+    // Same lifetime the shop gives the cookie on a UI login
+    private static final Duration SESSION_LIFETIME = Duration.ofMinutes(10);
+
+    // Sets the select through the native setter so the shop's change handler (plain or React) sees it
+    private static final String SORT_SCRIPT =
+            "var select = document.querySelector('.product_sort_container');"
+                    + " if (!select) { return false; }"
+                    + " Object.getOwnPropertyDescriptor(HTMLSelectElement.prototype, 'value').set.call(select, arguments[0]);"
+                    + " select.dispatchEvent(new Event('change', {bubbles: true}));"
+                    + " return select.value === arguments[0];";
+
+    public enum Page {
+        LOGIN(""),
+        INVENTORY("inventory.html"),
+        CART("cart.html"),
+        CHECKOUT_INFORMATION("checkout-step-one.html"),
+        CHECKOUT_OVERVIEW("checkout-step-two.html"),
+        CHECKOUT_COMPLETE("checkout-complete.html");
+
+        private final String path;
+
+        Page(String path) {
+            this.path = path;
+        }
+
+        public String path() {
+            return path;
+        }
+    }
+
+    public enum Sort {
+        NAME_A_TO_Z("az"),
+        NAME_Z_TO_A("za"),
+        PRICE_LOW_TO_HIGH("lohi"),
+        PRICE_HIGH_TO_LOW("hilo");
+
+        private final String value;
+
+        Sort(String value) {
+            this.value = value;
+        }
+
+        public String value() {
+            return value;
+        }
+    }
+
+    private final WebDriver driver;
+    private String username;
+    private final Set<SauceDemoProduct> cart = new LinkedHashSet<>();
+    private Sort sort;
+    private Page landingPage;
+
+    private AppState(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public static AppState of(WebDriver driver) {
+        return new AppState(driver);
+    }
+
+    public AppState loggedInAs(String username) {
+        this.username = username;
+        return this;
+    }
+
+    public AppState withCart(SauceDemoProduct... products) {
+        cart.addAll(List.of(products));
+        return this;
+    }
+
+    /**
+     * Sort order of the inventory; the shop does not persist it, so it is applied on the inventory page.
+     */
+    public AppState sortedBy(Sort sort) {
+        this.sort = sort;
+        return this;
+    }
+
+    // Defaults to the inventory when logged in, the login page otherwise
+    public AppState landingOn(Page page) {
+        this.landingPage = page;
+        return this;
+    }
+
+    /**
+     * Replaces the browser state and opens the landing page.
+     *
+     * @throws IllegalStateException if the shop did not accept the seeded state
+     */
+    public void apply() {
+        Page page = landingPage != null ? landingPage : username != null ? Page.INVENTORY : Page.LOGIN;
+        if (page != Page.LOGIN && username == null) {
+            throw new IllegalStateException("Page " + page + " needs a logged-in user, call loggedInAs first");
+        }
+        if (sort != null && page != Page.INVENTORY) {
+            throw new IllegalStateException("Sort order can only be seeded when landing on the inventory");
+        }
+
+        ActionMetrics.run("AppState.apply", () -> {
+            String baseUrl = ConfigReader.getProperty("baseUrl");
+            // Cookies and storage can only be written on the shop's own origin
+            String currentUrl = driver.getCurrentUrl();
+            if (currentUrl == null || !currentUrl.startsWith(baseUrl)) {
+                driver.get(baseUrl);
+            }
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript(
+                    "window.localStorage.clear(); window.sessionStorage.clear();"
+                            + " if (arguments[0]) { window.localStorage.setItem(arguments[1], arguments[0]); }",
+                    cartContents(), CART_KEY);
+            if (username != null) {
+                driver.manage().addCookie(new Cookie.Builder(SESSION_COOKIE, username)
+                        .path("/")
+                        .expiresOn(new Date(System.currentTimeMillis() + SESSION_LIFETIME.toMillis()))
+                        .build());
+            }
+
+            driver.get(baseUrl + page.path());
+            String landedOn = driver.getCurrentUrl();
+            if (landedOn == null || !landedOn.contains(page.path())) {
+                throw new IllegalStateException("Shop did not accept the seeded state, expected " + page.path()
+                        + " but landed on " + landedOn);
+            }
+            if (sort != null) {
+                // The list may still be rendering right after the load event
+                WaitFactory.get(driver, TimeoutProfile.NORMAL).until(d -> Boolean.TRUE.equals(((JavascriptExecutor) d).executeScript(SORT_SCRIPT, sort.value())));
+            }
+        });
+    }
+
+    // JSON array of product ids in the order they were added, or null for an empty cart
+    private String cartContents() {
+        if (cart.isEmpty()) {
+            return null;
+        }
+        return cart.stream()
+                .map(product -> String.valueOf(product.id()))
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+}
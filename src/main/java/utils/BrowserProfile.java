@@ -0,0 +1,67 @@
+package utils;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/**
+ * Browser launch profiles, selected with {@code browser.profile} in config.properties or -Dbrowser.profile.
+ */
+public enum BrowserProfile {
+    /** Visible, maximized Chrome for local debugging. */
+    HEADED(false, PageLoadStrategy.NORMAL, true),
+    /** Chrome's new headless mode with a fixed window size, for CI agents without a display. */
+    HEADLESS(true, PageLoadStrategy.EAGER, true),
+    /** Headless and stripped down: no GPU, extensions, background networking or images. */
+    MINIMAL(true, PageLoadStrategy.EAGER, false);
+
+    private final boolean headless;
+    private final PageLoadStrategy defaultPageLoadStrategy;
+    private final boolean defaultImagesEnabled;
+
+    BrowserProfile(boolean headless, PageLoadStrategy defaultPageLoadStrategy, boolean defaultImagesEnabled) {
+        this.headless = headless;
+        this.defaultPageLoadStrategy = defaultPageLoadStrategy;
+        this.defaultImagesEnabled = defaultImagesEnabled;
+    }
+
+    public static BrowserProfile current() {
+        return valueOf(ConfigReader.getProperty("browser.profile", "headed").trim().toUpperCase());
+    }
+
+    // Headed sessions are maximized after launch, headless ones get a fixed window size instead
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    // browser.images=true|false overrides the profile default
+    public boolean imagesEnabled() {
+        return ConfigReader.getBoolean("browser.images", defaultImagesEnabled);
+    }
+
+    public PageLoadStrategy pageLoadStrategy() {
+        String configured = ConfigReader.getProperty("browser.pageLoadStrategy", "");
+        return configured.isBlank() ? defaultPageLoadStrategy : PageLoadStrategy.fromString(configured.trim().toLowerCase());
+    }
+
+    public void apply(ChromeOptions options) {
+        options.setPageLoadStrategy(pageLoadStrategy());
+        if (headless) {
+            options.addArguments(
+                    "--headless=new",
+                    "--window-size=" + ConfigReader.getProperty("browser.windowSize", "1920,1080"),
+                    "--disable-gpu");
+        }
+        if (this == MINIMAL) {
+            options.addArguments(
+                    "--disable-extensions",
+                    "--disable-background-networking",
+                    "--disable-background-timer-throttling",
+                    "--disable-component-update",
+                    "--disable-default-apps",
+                    "--disable-sync",
+                    "--metrics-recording-only",
+                    "--no-first-run",
+                    "--mute-audio");
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.online.HttpClient;
+import io.github.bonigarcia.wdm.versions.VersionDetector;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the chromedriver binary once per JVM and remembers it on disk per Chrome major version,
+ * so later runs skip WebDriverManager's version lookup entirely. Also owns one long-lived
+ * chromedriver process that all local sessions share.
+ */
+public class ChromeDriverResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(ChromeDriverResolver.class);
+
+    private static final Duration VERSION_DETECTION_TIMEOUT =
+            Duration.ofSeconds(ConfigReader.getLong("driver.versionDetectionTimeoutSeconds", 10));
+
+    private static String driverPath;
+    private static ChromeDriverService sharedService;
+
+    /**
+     * @return absolute path of a chromedriver matching the installed Chrome
+     */
+    public static synchronized String resolveDriverPath() {
+        if (driverPath != null) {
+            return driverPath;
+        }
+        String configured = System.getProperty(ChromeDriverService.CHROME_DRIVER_EXE_PROPERTY);
+        if (configured != null && new File(configured).canExecute()) {
+            driverPath = configured;
+            return driverPath;
+        }
+
+        Path cacheFile = cacheFile();
+        Properties cache = load(cacheFile);
+        String cacheKey = detectBrowserMajorVersion().map(version -> "chrome." + version).orElse(null);
+        String cached = cacheKey == null ? null : cache.getProperty(cacheKey);
+
+        if (cached != null && new File(cached).canExecute()) {
+            driverPath = cached;
+        } else {
+            WebDriverManager manager = WebDriverManager.chromedriver();
+            manager.setup();
+            driverPath = manager.getDownloadedDriverPath();
+            if (cacheKey != null && driverPath != null) {
+                cache.setProperty(cacheKey, driverPath);
+                store(cacheFile, cache);
+            }
+        }
+        System.setProperty(ChromeDriverService.CHROME_DRIVER_EXE_PROPERTY, driverPath);
+        return driverPath;
+    }
+
+    /**
+     * Starts (once) and returns the URL of the chromedriver process shared by all local sessions.
+     */
+    public static synchronized URL sharedServiceUrl() {
+        if (sharedService == null || !sharedService.isRunning()) {
+            ChromeDriverService service = new ChromeDriverService.Builder()
+                    .usingDriverExecutable(new File(resolveDriverPath()))
+                    .usingAnyFreePort()
+                    .build();
+            try {
+                service.start();
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not start shared chromedriver", e);
+            }
+            sharedService = service;
+        }
+        return sharedService.getUrl();
+    }
+
+    public static synchronized void stopSharedService() {
+        if (sharedService != null) {
+            sharedService.stop();
+            sharedService = null;
+        }
+    }
+
+    private static Path cacheFile() {
+        return Path.of(ConfigReader.getProperty("driver.cacheFile",
+                System.getProperty("user.home") + "/.cache/selenium-automation/chromedriver.properties"));
+    }
+
+    // WebDriverManager's own detection (registry on Windows, the browser's --version elsewhere), bounded so
+    // a browser that never answers or opens a window can't hang driver resolution
+    private static Optional<String> detectBrowserMajorVersion() {
+        WebDriverManager manager = WebDriverManager.chromedriver();
+        // The detection commands bundled with WebDriverManager, without a network round trip first
+        manager.config().setCommandsPropertiesOnlineFirst(false);
+        Set<ProcessHandle> before = ProcessHandle.current().descendants().collect(Collectors.toSet());
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chrome-version-detection");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Future<Optional<String>> detection = executor.submit(() -> {
+            try (HttpClient http = new HttpClient(manager.config())) {
+                return new VersionDetector(manager.config(), http).getBrowserVersionFromTheShell("chrome");
+            }
+        });
+        try {
+            return detection.get(VERSION_DETECTION_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                    .map(VersionDetector::getMajorVersion);
+        } catch (TimeoutException e) {
+            detection.cancel(true);
+            // Whatever the detection started (browser, shell) is still running
+            ProcessHandle.current().descendants()
+                    .filter(process -> !before.contains(process))
+                    .forEach(ProcessHandle::destroyForcibly);
+            log.warn("Chrome version detection did not answer within {} s, resolving chromedriver without the cache",
+                    VERSION_DETECTION_TIMEOUT.toSeconds());
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            log.debug("Chrome version detection failed: {}", e.getCause().getMessage());
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Properties load(Path file) {
+        Properties properties = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            } catch (IOException e) {
+                log.warn("Ignoring unreadable driver cache {}: {}", file, e.getMessage());
+            }
+        }
+        return properties;
+    }
+
+    private static void store(Path file, Properties properties) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = Files.newOutputStream(file)) {
+                properties.store(out, "chromedriver binaries by Chrome major version");
+            }
+        } catch (IOException e) {
+            log.warn("Could not write driver cache {}: {}", file, e.getMessage());
+        }
+    }
+}
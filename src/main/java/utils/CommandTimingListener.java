@@ -0,0 +1,41 @@
+package utils;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Times every call made through the decorated driver (and the elements, options, navigation
+ * objects it returns) and feeds them into {@link ActionMetrics} as "command:Type.method".
+ */
+public class CommandTimingListener implements WebDriverListener {
+
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method, false);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method, true);
+    }
+
+    private void finish(Method method, boolean failed) {
+        Long start = startTimes.get().poll();
+        if (start == null) {
+            return;
+        }
+        String name = "command:" + method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        ActionMetrics.record(failed ? name + " (failed)" : name, System.nanoTime() - start, 0, 0);
+    }
+}
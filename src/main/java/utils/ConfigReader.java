@@ -19,11 +19,28 @@ public class ConfigReader {
         }
     }
 
+    // System properties (-Dkey=value) take precedence over config.properties
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return System.getProperty(key, properties.getProperty(key));
     }
 
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        String value = getProperty(key);
+        return value != null ? value : defaultValue;
     }
-}
\ No newline at end of file
+
+    public static int getInt(String key, int defaultValue) {
+        String value = getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+}
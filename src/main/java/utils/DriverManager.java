@@ -1,36 +1,110 @@
 package utils;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.logging.Level;
 
 public class DriverManager {
 
-    private static WebDriver driver;
+    private static final Logger log = LoggerFactory.getLogger(DriverManager.class);
+
+    // Each test thread owns the session it borrowed from the pool until it returns or quits it
+    private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
+    private static final DriverProvider PROVIDER = DriverProvider.fromConfig();
+    private static final DriverPool POOL = DriverPool.fromConfig(DriverManager::createDriver);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverManager::shutdown, "driver-pool-shutdown"));
+    }
 
     public static WebDriver getDriver() {
-        if (driver == null || ((ChromeDriver) driver).getSessionId() == null) {
-            // Configure Chrome options
-            ChromeOptions options = createChromeOptions();
+        WebDriver driver = DRIVER.get();
+        if (driver == null || !isAlive(driver)) {
+            if (driver != null) {
+                POOL.invalidate(driver);
+            }
+            driver = POOL.borrow();
+            DRIVER.set(driver);
+        }
+        return driver;
+    }
+
+    private static WebDriver createDriver() {
+        BrowserProfile profile = BrowserProfile.current();
 
-            // Setup WebDriverManager and create driver with options
-            WebDriverManager.chromedriver().setup();
-            driver = new ChromeDriver(options);
+        // Configure Chrome options
+        ChromeOptions options = createChromeOptions(profile);
 
-            // Maximize window
+        // Local Chrome or a grid session, see driver.provider
+        WebDriver driver = PROVIDER.create(options);
+
+        // Maximize window (headless profiles use a fixed window size instead)
+        if (!profile.isHeadless()) {
             driver.manage().window().maximize();
         }
-        return driver;
+
+        // Time every WebDriver/WebElement command for the metrics report; tell the provider when the session ends
+        List<WebDriverListener> listeners = new ArrayList<>();
+        if (ActionMetrics.isEnabled()) {
+            listeners.add(new CommandTimingListener());
+        }
+        listeners.add(new WebDriverListener() {
+            @Override
+            public void beforeQuit(WebDriver quitting) {
+                PROVIDER.onQuit(quitting);
+            }
+        });
+        return new EventFiringDecorator<WebDriver>(listeners.toArray(WebDriverListener[]::new)).decorate(driver);
+    }
+
+    /**
+     * Returns the underlying driver when the session is wrapped by a decorator.
+     */
+    public static WebDriver unwrap(WebDriver driver) {
+        WebDriver current = driver;
+        while (current instanceof WrapsDriver wrapper) {
+            current = wrapper.getWrappedDriver();
+        }
+        return current;
+    }
+
+    private static boolean isAlive(WebDriver driver) {
+        return !(unwrap(driver) instanceof RemoteWebDriver remote) || remote.getSessionId() != null;
+    }
+
+    // Health check used before recycling a session: one cheap round trip to the browser
+    private static boolean isResponsive(WebDriver driver) {
+        if (!isAlive(driver)) {
+            return false;
+        }
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
     }
 
     /**
      * Creates ChromeOptions with settings for SourceDemo website
+     * @param profile launch profile (headed / headless / minimal)
      * @return ChromeOptions with custom settings
      */
-    private static ChromeOptions createChromeOptions() {
+    private static ChromeOptions createChromeOptions(BrowserProfile profile) {
         ChromeOptions options = new ChromeOptions();
 
         // Disable password-related popups (including "Change your password")
@@ -55,6 +129,11 @@ public class DriverManager {
         // Disable Chrome's built-in password leak detection (which may trigger popups)
         prefs.put("profile.password_manager_leak_detection", false);
 
+        // Skip downloading images when the profile allows it
+        if (!profile.imagesEnabled()) {
+            prefs.put("profile.managed_default_content_settings.images", 2);
+        }
+
         options.setExperimentalOption("prefs", prefs);
 
         // Additional Chrome arguments to suppress popups
@@ -76,14 +155,82 @@ public class DriverManager {
                 }
         );
 
+        // Keep the browser console so failure artifacts can include it
+        if (ConfigReader.getBoolean("artifacts.consoleLog", true)) {
+            LoggingPreferences logging = new LoggingPreferences();
+            logging.enable(LogType.BROWSER, Level.ALL);
+            options.setCapability(ChromeOptions.LOGGING_PREFS, logging);
+        }
+
+        profile.apply(options);
         return options;
     }
 
+    /**
+     * The current thread's session, or null if it has none; never borrows a new one.
+     */
+    public static WebDriver currentDriver() {
+        return DRIVER.get();
+    }
+
+    /**
+     * Cheaply resets the current thread's session so the next test starts clean:
+     * clears localStorage/sessionStorage and cookies, then navigates to baseUrl.
+     * A session that fails the health check is quit and relaunched on the next getDriver().
+     */
+    public static void resetSession() {
+        WebDriver driver = DRIVER.get();
+        if (driver == null) {
+            return;
+        }
+        if (!isResponsive(driver)) {
+            quitDriver();
+            return;
+        }
+        try {
+            try {
+                ((JavascriptExecutor) driver).executeScript(
+                        "window.localStorage.clear(); window.sessionStorage.clear();");
+            } catch (WebDriverException e) {
+                // Storage is not accessible on about:blank or data: URLs, nothing to clear there
+            }
+            driver.manage().deleteAllCookies();
+            driver.get(ConfigReader.getProperty("baseUrl"));
+        } catch (WebDriverException e) {
+            log.warn("Session reset failed, relaunching browser: {}", e.getMessage());
+            quitDriver();
+        }
+    }
+
+    /**
+     * Returns the current thread's session to the pool so the next test can reuse the warm browser.
+     */
+    public static void releaseDriver() {
+        WebDriver driver = DRIVER.get();
+        if (driver != null) {
+            DRIVER.remove();
+            POOL.release(driver);
+        }
+    }
+
+    /**
+     * Quits the current thread's session; the pool replaces it on the next borrow.
+     */
     public static void quitDriver() {
+        WebDriver driver = DRIVER.get();
         if (driver != null) {
-            driver.quit();
-            driver = null;
+            DRIVER.remove();
+            POOL.invalidate(driver);
         }
     }
 
+    /**
+     * Quits every pooled session, used at the end of the suite.
+     */
+    public static void shutdown() {
+        DRIVER.remove();
+        POOL.shutdown();
+        ChromeDriverResolver.stopSharedService();
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,232 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of warm browser sessions.
+ * Tests borrow a session, use it on a single thread and return it (or discard it when it is broken).
+ * Idle sessions are evicted after {@code idleTimeout} and every session is retired after {@code maxSessionAge}.
+ */
+public class DriverPool {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverPool.class);
+
+    private final Supplier<WebDriver> factory;
+    private final int maxSize;
+    private final int minIdle;
+    private final Duration idleTimeout;
+    private final Duration maxSessionAge;
+    private final Duration borrowTimeout;
+
+    private final LinkedBlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledSession> inUse = new ConcurrentHashMap<>();
+    private final AtomicInteger liveSessions = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    public DriverPool(Supplier<WebDriver> factory, int maxSize, int minIdle,
+                      Duration idleTimeout, Duration maxSessionAge, Duration borrowTimeout) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1 but was " + maxSize);
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.minIdle = Math.min(minIdle, maxSize);
+        this.idleTimeout = idleTimeout;
+        this.maxSessionAge = maxSessionAge;
+        this.borrowTimeout = borrowTimeout;
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "driver-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, Math.min(idleTimeout.toSeconds(), 30));
+        housekeeper.scheduleWithFixedDelay(this::evictExpired, period, period, TimeUnit.SECONDS);
+        housekeeper.execute(this::fillToMinIdle);
+    }
+
+    /**
+     * Creates a pool configured from config.properties:
+     * pool.maxSize, pool.minIdle, pool.idleTimeoutSeconds, pool.maxSessionAgeSeconds, pool.borrowTimeoutSeconds.
+     */
+    public static DriverPool fromConfig(Supplier<WebDriver> factory) {
+        return new DriverPool(factory,
+                ConfigReader.getInt("pool.maxSize", Runtime.getRuntime().availableProcessors()),
+                ConfigReader.getInt("pool.minIdle", 0),
+                Duration.ofSeconds(ConfigReader.getLong("pool.idleTimeoutSeconds", 120)),
+                Duration.ofSeconds(ConfigReader.getLong("pool.maxSessionAgeSeconds", 900)),
+                Duration.ofSeconds(ConfigReader.getLong("pool.borrowTimeoutSeconds", 120)));
+    }
+
+    public WebDriver borrow() {
+        if (closed) {
+            throw new IllegalStateException("Driver pool has been shut down");
+        }
+        long deadline = System.nanoTime() + borrowTimeout.toNanos();
+        PooledSession session = idle.pollFirst();
+        while (true) {
+            if (session != null) {
+                if (isExpired(session)) {
+                    destroy(session);
+                } else {
+                    inUse.put(session.driver, session);
+                    return session.driver;
+                }
+            }
+
+            if (reserveSlot()) {
+                try {
+                    PooledSession created = new PooledSession(factory.get());
+                    inUse.put(created.driver, created);
+                    return created.driver;
+                } catch (RuntimeException e) {
+                    liveSessions.decrementAndGet();
+                    throw e;
+                }
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new IllegalStateException("No browser session became available within "
+                        + borrowTimeout.toSeconds() + "s (pool.maxSize=" + maxSize + ")");
+            }
+            try {
+                session = idle.pollFirst(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(500)), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+            }
+        }
+    }
+
+    /**
+     * Returns a healthy session to the pool so another test can reuse it.
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = inUse.remove(driver);
+        if (session == null) {
+            quietlyQuit(driver);
+            return;
+        }
+        if (closed || isExpired(session)) {
+            destroy(session);
+            return;
+        }
+        session.lastReturned = System.nanoTime();
+        // LIFO keeps the most recently used sessions hot and lets the others age out
+        idle.offerFirst(session);
+    }
+
+    /**
+     * Quits a session that is broken or must not be reused and frees its slot.
+     */
+    public void invalidate(WebDriver driver) {
+        PooledSession session = inUse.remove(driver);
+        if (session != null) {
+            destroy(session);
+        } else {
+            quietlyQuit(driver);
+        }
+        if (!closed) {
+            housekeeper.execute(this::fillToMinIdle);
+        }
+    }
+
+    public int liveSessions() {
+        return liveSessions.get();
+    }
+
+    public int idleSessions() {
+        return idle.size();
+    }
+
+    public void shutdown() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledSession session;
+        while ((session = idle.pollFirst()) != null) {
+            destroy(session);
+        }
+        inUse.values().forEach(this::destroy);
+        inUse.clear();
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int current = liveSessions.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (liveSessions.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean isExpired(PooledSession session) {
+        return System.nanoTime() - session.createdAt > maxSessionAge.toNanos();
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        for (PooledSession session : idle) {
+            boolean idleTooLong = now - session.lastReturned > idleTimeout.toNanos();
+            if ((idleTooLong || isExpired(session)) && idle.removeFirstOccurrence(session)) {
+                destroy(session);
+            }
+        }
+        fillToMinIdle();
+    }
+
+    private void fillToMinIdle() {
+        while (!closed && idle.size() < minIdle && reserveSlot()) {
+            try {
+                PooledSession session = new PooledSession(factory.get());
+                idle.offerLast(session);
+            } catch (RuntimeException e) {
+                liveSessions.decrementAndGet();
+                log.warn("Could not pre-warm browser session: {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void destroy(PooledSession session) {
+        quietlyQuit(session.driver);
+        liveSessions.decrementAndGet();
+    }
+
+    // Every discarded session ends here (invalidated, expired, unhealthy or shut down), so per-session caches go with it
+    private static void quietlyQuit(WebDriver driver) {
+        WaitFactory.evict(driver);
+        NetworkController.release(driver);
+        try {
+            driver.quit();
+        } catch (RuntimeException e) {
+            log.warn("Ignoring error while quitting browser session: {}", e.getMessage());
+        }
+    }
+
+    private static final class PooledSession {
+        private final WebDriver driver;
+        private final long createdAt = System.nanoTime();
+        private volatile long lastReturned = createdAt;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
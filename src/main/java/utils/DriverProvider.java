@@ -0,0 +1,45 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Where browser sessions come from. {@link DriverManager} builds the options and hands them to the
+ * provider selected by {@code driver.provider}:
+ * <ul>
+ *     <li>local - Chrome on this machine (default)</li>
+ *     <li>grid - a Selenium Grid at {@code grid.url}, falling back to local when it has no capacity</li>
+ *     <li>auto - the grid if it answers at startup, local otherwise</li>
+ * </ul>
+ */
+public interface DriverProvider {
+
+    String name();
+
+    WebDriver create(ChromeOptions options);
+
+    /**
+     * Called right before a session created by this provider quits, e.g. to free its grid slot.
+     */
+    default void onQuit(WebDriver driver) {
+    }
+
+    static DriverProvider fromConfig() {
+        Logger log = LoggerFactory.getLogger(DriverProvider.class);
+        String type = ConfigReader.getProperty("driver.provider", "local").trim().toLowerCase();
+        DriverProvider local = new LocalChromeProvider();
+        DriverProvider provider = switch (type) {
+            case "local" -> local;
+            case "grid" -> RemoteGridProvider.fromConfig(local);
+            case "auto" -> {
+                RemoteGridProvider grid = RemoteGridProvider.fromConfig(local);
+                yield grid.isReachable() ? grid : local;
+            }
+            default -> throw new IllegalArgumentException("Unknown driver.provider '" + type + "', use local, grid or auto");
+        };
+        log.info("Browser sessions come from the {} provider", provider.name());
+        return provider;
+    }
+}
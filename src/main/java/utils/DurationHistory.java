@@ -0,0 +1,92 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestNGMethod;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Per-test durations from earlier runs, kept as an exponentially weighted average in
+ * {@code <history.dir>/durations.properties} (default .test-history, keyed "Class#method").
+ * CI should cache that directory between runs so shards stay balanced. Shards running at the same
+ * time share the file: each save merges only the tests this run recorded.
+ */
+public class DurationHistory {
+
+    private static final Logger log = LoggerFactory.getLogger(DurationHistory.class);
+    private static final String FILE_NAME = "durations.properties";
+
+    // Weight of the newest sample; older runs fade out instead of being dropped
+    private static final double SMOOTHING = 0.3;
+
+    private final Path file;
+    private final Map<String, Long> millis = new TreeMap<>();
+    // Keys recorded by this run; other shards own the rest of the file
+    private final Set<String> recorded = new HashSet<>();
+
+    private DurationHistory(Path file) {
+        this.file = file;
+    }
+
+    public static Path historyDir() {
+        return Path.of(ConfigReader.getProperty("history.dir", ".test-history"));
+    }
+
+    public static DurationHistory load() {
+        DurationHistory history = new DurationHistory(historyDir().resolve(FILE_NAME));
+        try {
+            HistoryFile.read(history.file)
+                    .forEach((key, value) -> history.millis.put((String) key, Long.parseLong((String) value)));
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Ignoring unreadable duration history {}: {}", history.file, e.getMessage());
+            history.millis.clear();
+        }
+        return history;
+    }
+
+    public static String key(String className, String methodName) {
+        return className + "#" + methodName;
+    }
+
+    // Per-persona copies of a test (persona factories) cost differently and are planned separately
+    public static String key(ITestNGMethod method) {
+        String name = method.getMethodName();
+        return key(method.getRealClass().getName(), Persona.of(method).map(persona -> persona.qualify(name)).orElse(name));
+    }
+
+    public synchronized void record(String key, long durationMillis) {
+        Long previous = millis.get(key);
+        long smoothed = previous == null
+                ? durationMillis
+                : Math.round(SMOOTHING * durationMillis + (1 - SMOOTHING) * previous);
+        millis.put(key, smoothed);
+        recorded.add(key);
+    }
+
+    /**
+     * Average duration of a test, or the given default for tests that never ran.
+     */
+    public synchronized long estimateMillis(String key, long defaultMillis) {
+        return millis.getOrDefault(key, defaultMillis);
+    }
+
+    public synchronized boolean isEmpty() {
+        return millis.isEmpty();
+    }
+
+    public synchronized void save() {
+        Map<String, String> entries = new TreeMap<>();
+        recorded.forEach(key -> entries.put(key, Long.toString(millis.get(key))));
+        try {
+            HistoryFile.merge(file, entries, "Smoothed test durations in ms, used for shard planning");
+        } catch (IOException e) {
+            log.warn("Could not write duration history {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package utils;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Feeds the duration of every passed or failed test into {@link DurationHistory} and writes the
+ * history once the suite finishes. Skipped tests are ignored, they say nothing about cost.
+ * <p>
+ * A test's duration includes its @BeforeMethod and @AfterMethod methods (login, page load, session
+ * reset), which usually cost more than the test body and are what a shard actually spends.
+ */
+public class DurationRecorder implements ITestListener, IInvokedMethodListener, ISuiteListener {
+
+    private final DurationHistory history = DurationHistory.load();
+
+    // setUp time waiting for the test it belongs to, per worker thread
+    private final Map<Thread, Long> setUpMillis = new ConcurrentHashMap<>();
+    // Finished test still collecting its tearDown time, per worker thread
+    private final Map<Thread, Pending> pending = new ConcurrentHashMap<>();
+
+    private static final class Pending {
+        private final String key;
+        private long millis;
+
+        private Pending(String key, long millis) {
+            this.key = key;
+            this.millis = millis;
+        }
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        // The thread moves on to the next test: the previous one has all its tearDown time
+        ITestNGMethod invoked = method.getTestMethod();
+        if (method.isTestMethod() || invoked.isBeforeMethodConfiguration()) {
+            flush(Thread.currentThread());
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        ITestNGMethod invoked = method.getTestMethod();
+        long millis = result.getEndMillis() - result.getStartMillis();
+        if (invoked.isBeforeMethodConfiguration()) {
+            setUpMillis.merge(Thread.currentThread(), millis, Long::sum);
+        } else if (invoked.isAfterMethodConfiguration()) {
+            Pending test = pending.get(Thread.currentThread());
+            if (test != null) {
+                test.millis += millis;
+            }
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        setUpMillis.remove(Thread.currentThread());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        pending.keySet().forEach(this::flush);
+        history.save();
+    }
+
+    private void record(ITestResult result) {
+        Thread thread = Thread.currentThread();
+        flush(thread);
+        long setUp = setUpMillis.getOrDefault(thread, 0L);
+        setUpMillis.remove(thread);
+        pending.put(thread, new Pending(DurationHistory.key(result.getMethod()),
+                setUp + result.getEndMillis() - result.getStartMillis()));
+    }
+
+    private void flush(Thread thread) {
+        Pending test = pending.remove(thread);
+        if (test != null) {
+            history.record(test.key, test.millis);
+        }
+    }
+}
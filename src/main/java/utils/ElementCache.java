@@ -0,0 +1,137 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Resolved elements of one page object, keyed by locator, so repeated getters do not search the
+ * DOM again. Handed-out elements are proxies: when the browser reports a stale reference they
+ * look themselves up again (list entries by their index) and repeat the call once.
+ * Pages invalidate entries after actions that re-render them (sorting, cart changes, navigation);
+ * anything missed still heals through the stale-reference refresh.
+ */
+public class ElementCache {
+
+    private static final Class<?>[] ELEMENT_INTERFACES = {
+            WebElement.class, WrapsElement.class, Locatable.class, TakesScreenshot.class};
+
+    private final WebDriver driver;
+    private final Map<By, WebElement> elements = new ConcurrentHashMap<>();
+    private final Map<By, List<WebElement>> lists = new ConcurrentHashMap<>();
+
+    public ElementCache(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public WebElement element(By locator) {
+        return element(locator, driver::findElement);
+    }
+
+    /**
+     * @param resolver first lookup, typically a wait that returns the element
+     */
+    public WebElement element(By locator, Function<By, WebElement> resolver) {
+        WebElement cached = elements.get(locator);
+        if (cached != null) {
+            return cached;
+        }
+        WebElement proxy = proxy(new RefreshingElement(resolver.apply(locator), () -> driver.findElement(locator)));
+        elements.put(locator, proxy);
+        return proxy;
+    }
+
+    public List<WebElement> elements(By locator) {
+        return elements(locator, driver::findElements);
+    }
+
+    /**
+     * @param resolver first lookup, typically a wait that returns all matches
+     */
+    public List<WebElement> elements(By locator, Function<By, List<WebElement>> resolver) {
+        List<WebElement> cached = lists.get(locator);
+        if (cached != null) {
+            return cached;
+        }
+        List<WebElement> found = resolver.apply(locator);
+        List<WebElement> proxies = new ArrayList<>(found.size());
+        for (int i = 0; i < found.size(); i++) {
+            int index = i;
+            proxies.add(proxy(new RefreshingElement(found.get(i), () -> {
+                List<WebElement> current = driver.findElements(locator);
+                if (index >= current.size()) {
+                    throw new StaleElementReferenceException(
+                            "Element " + index + " of " + locator + " is gone, " + current.size() + " matches left");
+                }
+                return current.get(index);
+            })));
+        }
+        List<WebElement> result = Collections.unmodifiableList(proxies);
+        lists.put(locator, result);
+        return result;
+    }
+
+    public void invalidate(By... locators) {
+        for (By locator : locators) {
+            elements.remove(locator);
+            lists.remove(locator);
+        }
+    }
+
+    public void invalidateAll() {
+        elements.clear();
+        lists.clear();
+    }
+
+    private static WebElement proxy(RefreshingElement handler) {
+        return (WebElement) Proxy.newProxyInstance(ElementCache.class.getClassLoader(), ELEMENT_INTERFACES, handler);
+    }
+
+    private static final class RefreshingElement implements InvocationHandler {
+
+        private final Supplier<WebElement> lookup;
+        private volatile WebElement target;
+
+        private RefreshingElement(WebElement target, Supplier<WebElement> lookup) {
+            this.target = target;
+            this.lookup = lookup;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == WrapsElement.class) {
+                return target;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                    throw e.getCause();
+                }
+            }
+            target = lookup.get();
+            ActionMetrics.recordRetry();
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On a failed test (or @BeforeMethod) grabs screenshot, page source, browser console, URL and
+ * resource timings from the session in one burst, right after the method and before tearDown
+ * recycles the browser. Compressing and writing happen on a small background executor with a bounded
+ * queue, so the test thread only pays for the browser round trips. Artifacts identical to one already
+ * written (e.g. the same page on a retry) are not written again; the manifest points to the first copy.
+ * <p>
+ * Output: {@code artifacts.dir}/&lt;Class.method&gt;/attempt-N/ with screenshot.png, page-source.html.gz,
+ * console.log.gz, network.json.gz and manifest.json.
+ */
+public class FailureArtifactListener implements IInvokedMethodListener, ISuiteListener {
+
+    private static final Logger log = LoggerFactory.getLogger(FailureArtifactListener.class);
+
+    private static final boolean ENABLED = ConfigReader.getBoolean("artifacts.enabled", true);
+    private static final Path ROOT = Path.of(ConfigReader.getProperty("artifacts.dir", "target/failure-artifacts"));
+
+    private static final String PAGE_STATE_SCRIPT =
+            "return {url: location.href, title: document.title,"
+                    + " resources: performance.getEntriesByType('resource').map(function (e) {"
+                    + "   return {name: e.name, initiatorType: e.initiatorType, startTime: e.startTime,"
+                    + "           duration: e.duration, transferSize: e.transferSize || 0,"
+                    + "           responseStatus: e.responseStatus || 0};"
+                    + " })};";
+
+    // SHA-256 of the raw content -> first file written with it, completed once that file is complete
+    private static final Map<String, CompletableFuture<Path>> WRITTEN = new ConcurrentHashMap<>();
+    private static final AtomicInteger PENDING = new AtomicInteger();
+    private static final ThreadPoolExecutor WRITER = createWriter();
+
+    private record Burst(String test, int attempt, Throwable error, Instant capturedAt, byte[] screenshot,
+                         String pageSource, List<String> console, Map<String, Object> pageState) {
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        Throwable error = result.getThrowable();
+        boolean relevant = method.isTestMethod() || method.getTestMethod().isBeforeMethodConfiguration();
+        // Tests skipped because their setUp failed carry the setUp's error, which was captured already;
+        // tests passing with their expected exception carry it as well
+        if (!ENABLED || !relevant || error == null || result.getStatus() != ITestResult.FAILURE) {
+            return;
+        }
+        long start = System.nanoTime();
+        String name = result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        String test = Persona.of(result).map(persona -> persona.qualify(name)).orElse(name);
+        int attempt = FlakyRetryAnalyzer.retriesOf(RetryListener.key(result)) + 1;
+        Burst burst = capture(DriverManager.currentDriver(), test, attempt, error);
+        Path dir = ROOT.resolve(test).resolve("attempt-" + attempt);
+        result.setAttribute("failureArtifacts", dir.toString());
+
+        PENDING.incrementAndGet();
+        WRITER.execute(() -> {
+            try {
+                write(dir, burst);
+            } finally {
+                PENDING.decrementAndGet();
+            }
+        });
+        log.info("Captured failure artifacts of {} in {} ms, writing them to {}",
+                test, (System.nanoTime() - start) / 1_000_000, dir);
+    }
+
+    // Waits for queued artifacts so nothing is lost when the JVM exits after the suite
+    @Override
+    public void onFinish(ISuite suite) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(ConfigReader.getLong("artifacts.flushSeconds", 30));
+        while (PENDING.get() > 0 && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (PENDING.get() > 0) {
+            log.warn("{} failure artifact sets were still being written at suite end", PENDING.get());
+        }
+    }
+
+    // Every browser call is separately guarded: a broken page should still yield whatever it can
+    @SuppressWarnings("unchecked")
+    private static Burst capture(WebDriver driver, String test, int attempt, Throwable error) {
+        byte[] screenshot = null;
+        String pageSource = null;
+        List<String> console = List.of();
+        Map<String, Object> pageState = Map.of();
+        if (driver != null) {
+            try {
+                screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            } catch (WebDriverException e) {
+                log.debug("No screenshot for {}: {}", test, e.getMessage());
+            }
+            try {
+                pageSource = driver.getPageSource();
+            } catch (WebDriverException e) {
+                log.debug("No page source for {}: {}", test, e.getMessage());
+            }
+            try {
+                console = driver.manage().logs().get(LogType.BROWSER).getAll().stream()
+                        .map(LogEntry::toString)
+                        .toList();
+            } catch (WebDriverException | UnsupportedOperationException e) {
+                log.debug("No browser console for {}: {}", test, e.getMessage());
+            }
+            try {
+                pageState = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(PAGE_STATE_SCRIPT);
+            } catch (WebDriverException e) {
+                log.debug("No URL/resource timings for {}: {}", test, e.getMessage());
+            }
+        }
+        return new Burst(test, attempt, error, Instant.now(), screenshot, pageSource, console, pageState);
+    }
+
+    private static void write(Path dir, Burst burst) {
+        Json json = new Json();
+        Map<String, Object> files = new LinkedHashMap<>();
+        try {
+            Files.createDirectories(dir);
+            if (burst.screenshot() != null) {
+                // PNG is already compressed
+                files.put("screenshot", store(dir.resolve("screenshot.png"), burst.screenshot(), false));
+            }
+            if (burst.pageSource() != null) {
+                files.put("pageSource", store(dir.resolve("page-source.html.gz"), utf8(burst.pageSource()), true));
+            }
+            if (!burst.console().isEmpty()) {
+                files.put("console", store(dir.resolve("console.log.gz"), utf8(String.join("\n", burst.console())), true));
+            }
+            Object resources = burst.pageState().get("resources");
+            if (resources != null) {
+                files.put("network", store(dir.resolve("network.json.gz"), utf8(json.toJson(resources)), true));
+            }
+
+            Map<String, Object> manifest = new LinkedHashMap<>();
+            manifest.put("test", burst.test());
+            manifest.put("attempt", burst.attempt());
+            manifest.put("capturedAt", burst.capturedAt().toString());
+            manifest.put("url", burst.pageState().get("url"));
+            manifest.put("title", burst.pageState().get("title"));
+            manifest.put("failureKind", FailureKind.classify(burst.error()).name());
+            manifest.put("error", String.valueOf(burst.error()));
+            manifest.put("stackTrace", stackTrace(burst.error()));
+            manifest.put("log", Path.of(ConfigReader.getProperty("log.dir", "target/logs"), burst.test() + ".log").toString());
+            manifest.put("files", files);
+            Files.writeString(dir.resolve("manifest.json"), json.toJson(manifest), StandardCharsets.UTF_8);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write failure artifacts to {}: {}", dir, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the content unless identical content was written before. A hash is only reused once its
+     * file was written completely; a failed write unregisters it, so the next copy is written again.
+     *
+     * @return path of the file holding the content, relative to the artifacts root
+     */
+    private static String store(Path file, byte[] content, boolean gzip) throws IOException {
+        String sha = sha256(content);
+        CompletableFuture<Path> written = new CompletableFuture<>();
+        CompletableFuture<Path> first = WRITTEN.putIfAbsent(sha, written);
+        if (first != null) {
+            try {
+                return ROOT.relativize(first.join()).toString();
+            } catch (CompletionException e) {
+                // The first copy failed, this one is written without taking over the hash
+                writeFile(file, content, gzip);
+                return ROOT.relativize(file).toString();
+            }
+        }
+        try {
+            writeFile(file, content, gzip);
+        } catch (IOException | RuntimeException e) {
+            WRITTEN.remove(sha, written);
+            written.completeExceptionally(e);
+            throw e;
+        }
+        written.complete(file);
+        return ROOT.relativize(file).toString();
+    }
+
+    private static void writeFile(Path file, byte[] content, boolean gzip) throws IOException {
+        try (OutputStream out = gzip ? new GZIPOutputStream(Files.newOutputStream(file)) : Files.newOutputStream(file)) {
+            out.write(content);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String stackTrace(Throwable error) {
+        StringWriter out = new StringWriter();
+        error.printStackTrace(new PrintWriter(out));
+        return out.toString();
+    }
+
+    // Bounded: when the disk can't keep up, further artifacts are dropped instead of stalling tests
+    private static ThreadPoolExecutor createWriter() {
+        int threads = ConfigReader.getInt("artifacts.writerThreads", 2);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(ConfigReader.getInt("artifacts.queueSize", 32)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "failure-artifacts");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, rejectedBy) -> {
+                    PENDING.decrementAndGet();
+                    log.warn("Failure artifact queue is full, dropping one artifact set");
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
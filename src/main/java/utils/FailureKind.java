@@ -0,0 +1,76 @@
+package utils;
+
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+/**
+ * Why an action or test failed, and whether trying again can help.
+ */
+public enum FailureKind {
+
+    // DOM re-rendered under us; a fresh lookup almost always succeeds
+    STALE_ELEMENT(true, true),
+    // Covered by an overlay/animation or not yet enabled
+    NOT_INTERACTABLE(true, true),
+    NOT_FOUND(true, true),
+    // The full wait timeout already elapsed, repeating the action right away rarely helps
+    TIMEOUT(false, true),
+    // Browser or chromedriver died; only a new session (i.e. a test retry) helps
+    SESSION_LOST(false, true),
+    // The application really behaved differently; retried only for tests known to be flaky
+    ASSERTION(false, false),
+    OTHER(false, false);
+
+    private final boolean retryableAction;
+    private final boolean retryableTest;
+
+    FailureKind(boolean retryableAction, boolean retryableTest) {
+        this.retryableAction = retryableAction;
+        this.retryableTest = retryableTest;
+    }
+
+    public boolean isRetryableAction() {
+        return retryableAction;
+    }
+
+    public boolean isRetryableTest() {
+        return retryableTest;
+    }
+
+    /**
+     * Classifies a failure by the first recognised exception in its cause chain.
+     */
+    public static FailureKind classify(Throwable failure) {
+        for (Throwable current = failure; current != null; current = current.getCause()) {
+            if (current instanceof StaleElementReferenceException) {
+                return STALE_ELEMENT;
+            }
+            if (current instanceof ElementClickInterceptedException || current instanceof ElementNotInteractableException) {
+                return NOT_INTERACTABLE;
+            }
+            if (current instanceof NoSuchElementException) {
+                return NOT_FOUND;
+            }
+            if (current instanceof TimeoutException) {
+                return TIMEOUT;
+            }
+            if (current instanceof NoSuchSessionException || current instanceof SessionNotCreatedException
+                    || current instanceof UnreachableBrowserException) {
+                return SESSION_LOST;
+            }
+            if (current instanceof AssertionError) {
+                return ASSERTION;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,107 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Per-test outcome counts across runs, stored next to the duration history in
+ * {@code <history.dir>/flakiness.properties} as "runs,failures,recovered", where recovered
+ * counts runs that only passed after a retry. Like the duration history, each save merges only the
+ * tests this run recorded, so parallel shards don't overwrite each other's counts.
+ */
+public class FlakinessHistory {
+
+    private static final Logger log = LoggerFactory.getLogger(FlakinessHistory.class);
+    private static final String FILE_NAME = "flakiness.properties";
+
+    // Counts are halved past this many runs so old behaviour fades out
+    private static final int MAX_RUNS = 50;
+
+    private static FlakinessHistory instance;
+
+    private final Path file;
+    private final Map<String, Stats> stats = new TreeMap<>();
+    // Keys recorded by this run; other shards own the rest of the file
+    private final Set<String> recorded = new HashSet<>();
+
+    public record Stats(int runs, int failures, int recovered) {
+
+        static final Stats NONE = new Stats(0, 0, 0);
+
+        public double flakeRate() {
+            return runs == 0 ? 0 : (double) recovered / runs;
+        }
+
+        // Consistently broken rather than flaky: retrying it only burns time
+        public boolean alwaysFails() {
+            return runs >= 3 && failures == runs;
+        }
+    }
+
+    private FlakinessHistory(Path file) {
+        this.file = file;
+    }
+
+    public static synchronized FlakinessHistory get() {
+        if (instance == null) {
+            instance = load(DurationHistory.historyDir().resolve(FILE_NAME));
+        }
+        return instance;
+    }
+
+    static FlakinessHistory load(Path file) {
+        FlakinessHistory history = new FlakinessHistory(file);
+        try {
+            HistoryFile.read(file).forEach((key, value) -> {
+                String[] parts = ((String) value).split(",");
+                history.stats.put((String) key, new Stats(
+                        Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2])));
+            });
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable flakiness history {}: {}", file, e.getMessage());
+            history.stats.clear();
+        }
+        return history;
+    }
+
+    public synchronized Stats stats(String key) {
+        return stats.getOrDefault(key, Stats.NONE);
+    }
+
+    /**
+     * Records the final outcome of a test in this run.
+     */
+    public synchronized void record(String key, boolean passed, boolean retried) {
+        Stats current = stats(key);
+        int runs = current.runs() + 1;
+        int failures = current.failures() + (passed ? 0 : 1);
+        int recovered = current.recovered() + (passed && retried ? 1 : 0);
+        if (runs > MAX_RUNS) {
+            runs /= 2;
+            failures /= 2;
+            recovered /= 2;
+        }
+        stats.put(key, new Stats(runs, failures, recovered));
+        recorded.add(key);
+    }
+
+    public synchronized void save() {
+        Map<String, String> entries = new TreeMap<>();
+        recorded.forEach(key -> {
+            Stats value = stats.get(key);
+            entries.put(key, value.runs() + "," + value.failures() + "," + value.recovered());
+        });
+        try {
+            HistoryFile.merge(file, entries, "Test outcomes: runs,failures,recovered (passed only after a retry)");
+        } catch (IOException e) {
+            log.warn("Could not write flakiness history {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Retries a failed test only when another attempt can plausibly pass:
+ * <ul>
+ *   <li>transient failures (stale element, timeout, lost session, ...) are retried,</li>
+ *   <li>assertion failures only for tests that passed on a retry in earlier runs,</li>
+ *   <li>never when the same failure repeats, the test failed in every recent run,
+ *       its own retry limit is reached or the suite-wide retry budget is spent.</li>
+ * </ul>
+ * Attached to every test by {@link RetryListener}.
+ */
+public class FlakyRetryAnalyzer implements IRetryAnalyzer {
+
+    private static final Logger log = LoggerFactory.getLogger(FlakyRetryAnalyzer.class);
+
+    private static final int MAX_RETRIES = ConfigReader.getInt("retry.test.maxRetries", 1);
+    private static final AtomicInteger SUITE_BUDGET = new AtomicInteger(ConfigReader.getInt("retry.test.suiteBudget", 5));
+    private static final Map<String, Integer> RETRIES = new ConcurrentHashMap<>();
+
+    private int retries;
+    private String lastFailure;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        String key = RetryListener.key(result);
+        Throwable failure = result.getThrowable();
+        FailureKind kind = FailureKind.classify(failure);
+        String signature = kind + ": " + (failure == null ? "" : failure.getMessage());
+
+        String hopeless = hopelessReason(key, kind, signature);
+        lastFailure = signature;
+        if (hopeless != null) {
+            log.info("Not retrying {}: {}", key, hopeless);
+            return false;
+        }
+        if (SUITE_BUDGET.getAndUpdate(budget -> Math.max(0, budget - 1)) == 0) {
+            log.info("Not retrying {}: suite retry budget exhausted", key);
+            return false;
+        }
+        retries++;
+        RETRIES.merge(key, 1, Integer::sum);
+        log.warn("Retrying {} after {} failure (retry {}/{})", key, kind, retries, MAX_RETRIES);
+        return true;
+    }
+
+    // Number of retries a test needed in this run
+    static int retriesOf(String key) {
+        return RETRIES.getOrDefault(key, 0);
+    }
+
+    private String hopelessReason(String key, FailureKind kind, String signature) {
+        if (retries >= MAX_RETRIES) {
+            return "retry limit of " + MAX_RETRIES + " reached";
+        }
+        FlakinessHistory.Stats stats = FlakinessHistory.get().stats(key);
+        if (stats.alwaysFails()) {
+            return "failed in all of the last " + stats.runs() + " runs";
+        }
+        if (!kind.isRetryableTest() && stats.recovered() == 0) {
+            return kind + " failure and the test never passed on a retry before";
+        }
+        if (signature.equals(lastFailure)) {
+            return "failed the same way twice";
+        }
+        return null;
+    }
+}
@@ -5,46 +5,64 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.time.Duration;
 import java.util.List;
 
 public class HelperMethods {
-    private static final int WAIT_TIMEOUT_SECONDS = 3;
 
-    public static void waitForVisibility(By locator) {
-        WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(WAIT_TIMEOUT_SECONDS));
-        wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+    // Returns the element the wait found, so callers need no second lookup
+    public static WebElement waitForVisibility(By locator) {
+        WebDriverWait wait = WaitFactory.get(TimeoutProfile.FAST);
+        long start = System.nanoTime();
+        try {
+            return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        } finally {
+            ActionMetrics.recordWait(System.nanoTime() - start);
+        }
     }
 
-    public static void clickWithRetry(By locator, int maxRetries) {
-        int attempts = 0;
-        while (attempts < maxRetries) {
-            try {
-                waitForVisibility(locator);
-                DriverManager.getDriver().findElement(locator).click();
-                break;
-            } catch (Exception e) {
-                attempts++;
-                if (attempts == maxRetries) throw e;
-            }
-        }
+    // Retries transient failures (stale, intercepted, not yet rendered) with backoff, see RetryPolicy
+    public static void clickWithRetry(By locator) {
+        clickWithRetry(locator, RetryPolicy.defaults());
+    }
+
+    public static void clickWithRetry(By locator, int maxAttempts) {
+        clickWithRetry(locator, RetryPolicy.defaults().withMaxAttempts(maxAttempts));
+    }
+
+    public static void clickWithRetry(By locator, RetryPolicy policy) {
+        ActionMetrics.run("HelperMethods.clickWithRetry", () -> policy.run("click " + locator,
+                () -> waitForVisibility(locator).click()));
     }
 
     public static void click(By locator) {
-        waitForVisibility(locator);
-        DriverManager.getDriver().findElement(locator).click();
+        ActionMetrics.run("HelperMethods.click", () -> waitForVisibility(locator).click());
     }
 
     public static String getText(By locator) {
-        waitForVisibility(locator);
-        return DriverManager.getDriver().findElement(locator).getText();
+        return ActionMetrics.time("HelperMethods.getText", () -> waitForVisibility(locator).getText());
     }
 
     public static List<WebElement> getElements(By locator) {
-        waitForVisibility(locator);
-        return DriverManager.getDriver().findElements(locator);
+        // Same condition as waitForVisibility (first match visible), but returns all matches of the same lookup
+        return ActionMetrics.time("HelperMethods.getElements", () -> {
+            WebDriverWait wait = WaitFactory.get(TimeoutProfile.FAST);
+            long start = System.nanoTime();
+            try {
+                return wait.until(driver -> {
+                    List<WebElement> found = driver.findElements(locator);
+                    return !found.isEmpty() && found.get(0).isDisplayed() ? found : null;
+                });
+            } finally {
+                ActionMetrics.recordWait(System.nanoTime() - start);
+            }
+        });
     }
 
+    /**
+     * Fixed sleep, kept for compatibility.
+     * @deprecated wait for the actual page state with {@link SmartWait} instead
+     */
+    @Deprecated
     public static void wait(int seconds) {
         try {
             Thread.sleep(seconds * 1000L);
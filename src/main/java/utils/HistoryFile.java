@@ -0,0 +1,58 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Read-merge-write of the properties files under history.dir. Parallel shards share one history
+ * directory, so a save holds a lock file, re-reads what other shards wrote meanwhile, changes only
+ * the keys this run touched and replaces the file atomically.
+ */
+final class HistoryFile {
+
+    private HistoryFile() {
+    }
+
+    static Properties read(Path file) throws IOException {
+        Properties properties = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Writes the given entries into the file, keeping every other entry as it is on disk.
+     * The file lock only excludes other processes, so threads of this JVM queue on the class.
+     */
+    static synchronized void merge(Path file, Map<String, String> entries, String comment) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            Properties properties = read(file);
+            properties.putAll(entries);
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, comment);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency of the page-object steps timed by {@link ActionMetrics}, per persona, checked against budgets
+ * so a slow user (performance_glitch_user) is reported as slow instead of only surfacing when a wait
+ * times out.
+ * <p>
+ * Budgets are {@code latency.budget.<step>Ms} (e.g. latency.budget.LoginPage.loginMs) with
+ * {@code latency.budget.defaultMs} for every other step; leave both empty for no budget. A step over
+ * budget is logged; with {@code latency.budget.enforce=true} the test it ran in fails as well.
+ * At suite end the per-persona step latencies and breaches are written to personas.csv in
+ * {@code metrics.dir}. Needs metrics.enabled and registration in testng.xml.
+ */
+public class LatencyBudget implements IInvokedMethodListener, ISuiteListener {
+
+    private static final Logger log = LoggerFactory.getLogger(LatencyBudget.class);
+
+    private static final boolean ENFORCE = ConfigReader.getBoolean("latency.budget.enforce", false);
+    private static final long DEFAULT_BUDGET_MS = ConfigReader.getLong("latency.budget.defaultMs", 0);
+
+    // Budget per step in ms, 0 when the step has none
+    private static final Map<String, Long> BUDGETS = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, LatencyHistogram>> BY_PERSONA = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, AtomicInteger>> BREACHES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> CURRENT_PERSONA = new ThreadLocal<>();
+    private static final ThreadLocal<List<String>> TEST_BREACHES = ThreadLocal.withInitial(ArrayList::new);
+
+    /**
+     * Attributes the steps run on this thread to the persona until {@link #endTest()}.
+     */
+    public static void startTest(Persona persona) {
+        CURRENT_PERSONA.set(persona.username());
+        TEST_BREACHES.get().clear();
+    }
+
+    public static void endTest() {
+        CURRENT_PERSONA.remove();
+        TEST_BREACHES.remove();
+    }
+
+    public static long budgetMillis(String step) {
+        return BUDGETS.computeIfAbsent(step,
+                key -> ConfigReader.getLong("latency.budget." + key + "Ms", DEFAULT_BUDGET_MS));
+    }
+
+    /**
+     * Records a step for the current persona and checks it against the step's budget.
+     * Steps outside a test are ignored.
+     */
+    static void record(String step, long nanos) {
+        String persona = CURRENT_PERSONA.get();
+        if (persona == null) {
+            return;
+        }
+        BY_PERSONA.computeIfAbsent(persona, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(step, key -> new LatencyHistogram()).record(nanos);
+        long budget = budgetMillis(step);
+        long millis = nanos / 1_000_000;
+        if (budget > 0 && millis > budget) {
+            BREACHES.computeIfAbsent(persona, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(step, key -> new AtomicInteger()).incrementAndGet();
+            String breach = step + " took " + millis + " ms (budget " + budget + " ms)";
+            TEST_BREACHES.get().add(breach);
+            log.warn("Latency budget exceeded for {}: {}", persona, breach);
+        }
+    }
+
+    // Fails an otherwise passing test whose steps, including those of its setUp, ran over budget
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        List<String> breaches = TEST_BREACHES.get();
+        if (!ENFORCE || !method.isTestMethod() || breaches.isEmpty() || result.getStatus() != ITestResult.SUCCESS) {
+            return;
+        }
+        String persona = Optional.ofNullable(CURRENT_PERSONA.get()).orElse("?");
+        result.setStatus(ITestResult.FAILURE);
+        result.setThrowable(new AssertionError("Latency budget exceeded for " + persona + ": " + String.join("; ", breaches)));
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (BY_PERSONA.isEmpty()) {
+            return;
+        }
+        StringBuilder csv = new StringBuilder("persona,step,budgetMs,overBudget,count,meanMs,p50Ms,p95Ms,p99Ms,maxMs\n");
+        new TreeMap<>(BY_PERSONA).forEach((persona, steps) -> {
+            int overBudget = 0;
+            for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(steps).entrySet()) {
+                String step = entry.getKey();
+                LatencyHistogram histogram = entry.getValue();
+                int breaches = breaches(persona, step);
+                overBudget += breaches;
+                csv.append(persona).append(',').append(step).append(',').append(budgetMillis(step))
+                        .append(',').append(breaches).append(',').append(histogram.count())
+                        .append(',').append(round(histogram.meanMillis()))
+                        .append(',').append(round(histogram.percentileMillis(50)))
+                        .append(',').append(round(histogram.percentileMillis(95)))
+                        .append(',').append(round(histogram.percentileMillis(99)))
+                        .append(',').append(round(histogram.maxMillis())).append('\n');
+            }
+            if (overBudget > 0) {
+                log.warn("Persona {}: {} step(s) over their latency budget", persona, overBudget);
+            } else {
+                log.info("Persona {}: all {} steps within their latency budgets", persona, steps.size());
+            }
+        });
+
+        Path dir = Path.of(ConfigReader.getProperty("metrics.dir", "target/metrics"));
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("personas.csv"), csv, StandardCharsets.UTF_8);
+            log.info("Per-persona step latencies written to {}", dir.resolve("personas.csv").toAbsolutePath());
+        } catch (IOException e) {
+            log.warn("Could not write per-persona latencies: {}", e.getMessage());
+        }
+    }
+
+    private static int breaches(String persona, String step) {
+        AtomicInteger count = BREACHES.getOrDefault(persona, Map.of()).get(step);
+        return count == null ? 0 : count.get();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,88 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe recorder of latency samples with exact percentiles.
+ * Samples are kept in a growing array, which is fine for the few thousand samples a suite produces.
+ */
+public class LatencyHistogram {
+
+    private long[] samples = new long[64];
+    private int size;
+    private long retries;
+    private long waitNanos;
+
+    public synchronized void record(long nanos) {
+        record(nanos, 0, 0);
+    }
+
+    public synchronized void record(long nanos, int retryCount, long waitedNanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+        retries += retryCount;
+        waitNanos += waitedNanos;
+    }
+
+    public synchronized int count() {
+        return size;
+    }
+
+    /**
+     * @param percentile 0-100, nearest-rank
+     */
+    public synchronized double percentileMillis(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * size);
+        return toMillis(sorted[Math.max(0, Math.min(size, rank) - 1)]);
+    }
+
+    public synchronized double meanMillis() {
+        if (size == 0) {
+            return 0;
+        }
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += samples[i];
+        }
+        return toMillis(total / size);
+    }
+
+    public synchronized double maxMillis() {
+        long max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, samples[i]);
+        }
+        return toMillis(max);
+    }
+
+    // Summary used by the JSON/CSV reports
+    public synchronized Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", size);
+        summary.put("meanMs", round(meanMillis()));
+        summary.put("p50Ms", round(percentileMillis(50)));
+        summary.put("p95Ms", round(percentileMillis(95)));
+        summary.put("p99Ms", round(percentileMillis(99)));
+        summary.put("maxMs", round(maxMillis()));
+        summary.put("retries", retries);
+        summary.put("waitMs", round(toMillis(waitNanos)));
+        return summary;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,26 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/**
+ * Chrome on this machine. The driver binary is resolved once per JVM and, unless
+ * {@code driver.sharedService=false}, sessions attach to one shared chromedriver process.
+ */
+public class LocalChromeProvider implements DriverProvider {
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    @Override
+    public WebDriver create(ChromeOptions options) {
+        if (ConfigReader.getBoolean("driver.sharedService", true)) {
+            return new SharedServiceChromeDriver(ChromeDriverResolver.sharedServiceUrl(), options);
+        }
+        ChromeDriverResolver.resolveDriverPath();
+        return new ChromeDriver(options);
+    }
+}
@@ -0,0 +1,146 @@
+package utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP server serving an offline replica of the SauceDemo pages
+ * (login, inventory, item details, cart, checkout) from classpath resources under /saucedemo.
+ * Enabled with {@code localServer.enabled=true}; it then overrides {@code baseUrl} for the whole run.
+ */
+public class LocalSauceDemoServer {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalSauceDemoServer.class);
+
+    private static final String RESOURCE_ROOT = "/saucedemo";
+    private static final Set<String> APP_ROUTES = Set.of(
+            "/", "/index.html", "/inventory.html", "/inventory-item.html", "/cart.html",
+            "/checkout-step-one.html", "/checkout-step-two.html", "/checkout-complete.html");
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html; charset=utf-8",
+            "js", "application/javascript; charset=utf-8",
+            "css", "text/css; charset=utf-8",
+            "svg", "image/svg+xml",
+            "png", "image/png",
+            "jpg", "image/jpeg");
+
+    private static final Map<String, byte[]> RESOURCE_CACHE = new ConcurrentHashMap<>();
+    private static HttpServer server;
+    private static ExecutorService executor;
+
+    /**
+     * Starts the server when {@code localServer.enabled=true} and points baseUrl at it.
+     */
+    public static synchronized void startIfEnabled() {
+        if (ConfigReader.getBoolean("localServer.enabled", false)) {
+            System.setProperty("baseUrl", start(ConfigReader.getInt("localServer.port", 0)));
+        }
+    }
+
+    /**
+     * Starts the server (idempotent) and returns its base URL, e.g. http://localhost:54321/.
+     *
+     * @param port fixed port, or 0 for any free port
+     */
+    public static synchronized String start(int port) {
+        if (server == null) {
+            try {
+                server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not start local SauceDemo server on port " + port, e);
+            }
+            executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "local-saucedemo");
+                thread.setDaemon(true);
+                return thread;
+            });
+            server.createContext("/", LocalSauceDemoServer::handle);
+            server.setExecutor(executor);
+            server.start();
+            log.info("Local SauceDemo server started at {}", getBaseUrl());
+        }
+        return getBaseUrl();
+    }
+
+    public static synchronized String getBaseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("Local SauceDemo server is not running");
+        }
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    public static synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            executor = null;
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            String resource = APP_ROUTES.contains(path) ? "/index.html" : path;
+            String fileName = resource.substring(resource.lastIndexOf('/') + 1);
+            byte[] body = resource.contains("..") || !fileName.contains(".") ? null : load(resource);
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            String extension = resource.substring(resource.lastIndexOf('.') + 1);
+            exchange.getResponseHeaders().set("Content-Type",
+                    CONTENT_TYPES.getOrDefault(extension, "application/octet-stream"));
+            // Pages must always be re-rendered; static assets may be cached by the browser
+            exchange.getResponseHeaders().set("Cache-Control",
+                    resource.startsWith("/static/") ? "public, max-age=3600" : "no-store");
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static byte[] load(String resource) {
+        byte[] cached = RESOURCE_CACHE.get(resource);
+        if (cached != null) {
+            return cached;
+        }
+        try (InputStream in = LocalSauceDemoServer.class.getResourceAsStream(RESOURCE_ROOT + resource)) {
+            if (in == null) {
+                return null;
+            }
+            byte[] body = in.readAllBytes();
+            RESOURCE_CACHE.put(resource, body);
+            return body;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
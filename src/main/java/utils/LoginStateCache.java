@@ -0,0 +1,90 @@
+package utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the browser state produced by a successful UI login (cookies + localStorage) per user,
+ * so later tests can inject it and open the inventory page directly.
+ */
+public class LoginStateCache {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginStateCache.class);
+
+    private static final String LANDING_PAGE = "inventory.html";
+    private static final Map<String, Snapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+
+    /**
+     * Captures the logged-in state of the current page for the given user.
+     * Call it right after a successful UI login.
+     */
+    @SuppressWarnings("unchecked")
+    public static void capture(WebDriver driver, String username) {
+        Set<Cookie> cookies = driver.manage().getCookies();
+        Map<String, String> storage = new HashMap<>((Map<String, String>) ((JavascriptExecutor) driver).executeScript(
+                "var s = {}; for (var i = 0; i < localStorage.length; i++) {"
+                        + " var k = localStorage.key(i); s[k] = localStorage.getItem(k); } return s;"));
+        // The cart is test state, not login state
+        storage.remove("cart-contents");
+        SNAPSHOTS.put(username, new Snapshot(Set.copyOf(cookies), Map.copyOf(storage)));
+    }
+
+    /**
+     * Injects the cached state for the user and opens the inventory page.
+     * The driver must already be on the application's origin (e.g. baseUrl).
+     *
+     * @return true if the application accepted the snapshot, false if a UI login is needed
+     */
+    public static boolean restore(WebDriver driver, String username) {
+        Snapshot snapshot = SNAPSHOTS.get(username);
+        if (snapshot == null) {
+            return false;
+        }
+        if (snapshot.isExpired()) {
+            SNAPSHOTS.remove(username);
+            return false;
+        }
+        try {
+            snapshot.cookies().forEach(cookie -> driver.manage().addCookie(cookie));
+            if (!snapshot.localStorage().isEmpty()) {
+                ((JavascriptExecutor) driver).executeScript(
+                        "var s = arguments[0]; for (var k in s) { localStorage.setItem(k, s[k]); }",
+                        snapshot.localStorage());
+            }
+            driver.get(ConfigReader.getProperty("baseUrl") + LANDING_PAGE);
+            String currentUrl = driver.getCurrentUrl();
+            if (currentUrl != null && currentUrl.contains(LANDING_PAGE)) {
+                return true;
+            }
+        } catch (WebDriverException e) {
+            log.warn("Login snapshot injection failed: {}", e.getMessage());
+        }
+        // Rejected (e.g. server-side session expired): drop it and go back to the login form
+        SNAPSHOTS.remove(username);
+        driver.manage().deleteAllCookies();
+        driver.get(ConfigReader.getProperty("baseUrl"));
+        return false;
+    }
+
+    public static void invalidate(String username) {
+        SNAPSHOTS.remove(username);
+    }
+
+    private record Snapshot(Set<Cookie> cookies, Map<String, String> localStorage) {
+
+        boolean isExpired() {
+            Date now = new Date();
+            return cookies.stream().anyMatch(c -> c.getExpiry() != null && c.getExpiry().before(now));
+        }
+    }
+}
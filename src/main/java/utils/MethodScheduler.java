@@ -0,0 +1,73 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Orders the methods of a parallel-by-method run: read-only tests keep their priority and start
+ * first, mutating tests ({@link Mutates}) follow, one group per state they declare.
+ * Register it in testng.xml; each worker thread owns its own browser session, so the only
+ * contamination left is state a mutating test leaves behind, which BaseTest clears afterwards.
+ */
+public class MethodScheduler implements IMethodInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(MethodScheduler.class);
+
+    // Keeps mutating tests behind every read-only priority used in the suite
+    private static final int MUTATING_PRIORITY_OFFSET = 1000;
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.comparing((IMethodInstance m) -> mutation(m).isPresent())
+                .thenComparing(m -> mutation(m).map(MethodScheduler::stateKey).orElse(""))
+                .thenComparingInt(m -> m.getMethod().getPriority()));
+
+        // One priority per state group, so no mutating test is ranked behind another of its group;
+        // each runs in its own session, nothing but the group order needs to be kept
+        Map<String, Integer> groups = new LinkedHashMap<>();
+        int readOnly = 0;
+        for (IMethodInstance instance : ordered) {
+            Optional<Mutates> mutation = mutation(instance);
+            if (mutation.isPresent()) {
+                int group = groups.computeIfAbsent(stateKey(mutation.get()), key -> groups.size());
+                instance.getMethod().setPriority(MUTATING_PRIORITY_OFFSET + group);
+            } else {
+                readOnly++;
+            }
+        }
+        log.info("Scheduled {} read-only and {} mutating tests in {} state group(s) in '{}'",
+                readOnly, ordered.size() - readOnly, groups.size(), context.getName());
+        return ordered;
+    }
+
+    /**
+     * The {@link Mutates} declaration of a test method, falling back to its class.
+     */
+    public static Optional<Mutates> mutation(Method method) {
+        Mutates declared = method.getAnnotation(Mutates.class);
+        if (declared == null) {
+            declared = method.getDeclaringClass().getAnnotation(Mutates.class);
+        }
+        return Optional.ofNullable(declared);
+    }
+
+    private static Optional<Mutates> mutation(IMethodInstance instance) {
+        return mutation(instance.getMethod().getConstructorOrMethod().getMethod());
+    }
+
+    private static String stateKey(Mutates mutates) {
+        return String.join(",", mutates.value());
+    }
+}
@@ -0,0 +1,27 @@
+package utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares that a test (or every test of a class) changes application state.
+ * Tests without it are treated as read-only: {@link MethodScheduler} runs them first, in parallel,
+ * and mutating tests afterwards, grouped by the state they touch. Their browser session is reset
+ * (or discarded, see {@link #freshSession()}) before another test may use it.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface Mutates {
+
+    /**
+     * State touched by the test, e.g. "cart", "sort", "navigation".
+     */
+    String[] value();
+
+    /**
+     * Quit the browser afterwards instead of clearing cookies/storage and reusing it.
+     */
+    boolean freshSession() default false;
+}
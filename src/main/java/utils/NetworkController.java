@@ -0,0 +1,181 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies {@link NetworkPolicy NetworkPolicies} to Chrome sessions over DevTools (blocked URLs,
+ * throttling, static-file cache) and reads request-level timings from the Resource Timing API.
+ * Sessions remember their current policy, so re-applying the same one costs nothing.
+ * Browsers without DevTools support (non-Chromium, some Grid nodes) are left unrestricted with a warning.
+ */
+public class NetworkController {
+
+    private static final Logger log = LoggerFactory.getLogger(NetworkController.class);
+
+    private static final int MAX_CACHED_RESPONSES = ConfigReader.getInt("network.cache.maxEntries", 500);
+    private static final int MAX_CACHED_BYTES = 5 * 1024 * 1024;
+    private static final List<String> STATIC_EXTENSIONS = List.of(
+            ".css", ".js", ".png", ".jpg", ".jpeg", ".gif", ".webp", ".svg", ".ico", ".woff", ".woff2", ".ttf");
+
+    // Reads and clears the resource timing buffer so every entry is reported once
+    private static final String RESOURCE_TIMINGS_SCRIPT =
+            "var entries = performance.getEntriesByType('resource').map(function (e) {"
+                    + "  return {name: e.name, initiatorType: e.initiatorType, startTime: e.startTime,"
+                    + "          duration: e.duration, transferSize: e.transferSize || 0};"
+                    + "});"
+                    + "performance.clearResourceTimings();"
+                    + "return {page: location.pathname, entries: entries};";
+
+    // Released by DriverPool when it quits a session; the interceptor's DevTools connection holds the driver
+    private static final Map<WebDriver, Applied> APPLIED = new ConcurrentHashMap<>();
+    private static final Map<String, CachedResponse> STATIC_CACHE = new ConcurrentHashMap<>();
+    private static final Set<String> WARNED_NO_CDP = ConcurrentHashMap.newKeySet();
+
+    public record ResourceTiming(String name, String initiatorType, double startMillis, double durationMillis,
+                                 long transferSize) {
+    }
+
+    private record Applied(NetworkPolicy policy, NetworkInterceptor interceptor) {
+    }
+
+    private record CachedResponse(int status, Map<String, List<String>> headers, byte[] body) {
+
+        HttpResponse toResponse() {
+            HttpResponse response = new HttpResponse().setStatus(status).setContent(Contents.bytes(body));
+            headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+            return response;
+        }
+    }
+
+    /**
+     * Makes the session follow the given policy; a failure is logged and leaves the session as it was.
+     */
+    public static void apply(WebDriver driver, NetworkPolicy policy) {
+        Applied current = APPLIED.get(driver);
+        NetworkPolicy currentPolicy = current == null ? NetworkPolicy.UNRESTRICTED : current.policy();
+        if (currentPolicy.equals(policy)) {
+            return;
+        }
+        WebDriver raw = DriverManager.unwrap(driver);
+        if (!(raw instanceof HasCdp cdp)) {
+            // Once per browser type: the run is not getting the blocking or throttling it asked for
+            if (WARNED_NO_CDP.add(raw.getClass().getName())) {
+                log.warn("{} has no DevTools support, running without {}", raw.getClass().getSimpleName(), policy);
+            }
+            return;
+        }
+        try {
+            cdp.executeCdpCommand("Network.enable", Map.of());
+            cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", policy.blockedUrlPatterns()));
+            cdp.executeCdpCommand("Network.emulateNetworkConditions", Map.of(
+                    "offline", false,
+                    "latency", policy.latencyMillis(),
+                    "downloadThroughput", bytesPerSecond(policy.downloadKbps()),
+                    "uploadThroughput", bytesPerSecond(policy.uploadKbps())));
+
+            NetworkInterceptor interceptor = current == null ? null : current.interceptor();
+            if (policy.cacheStatic() && interceptor == null && raw instanceof HasDevTools) {
+                interceptor = new NetworkInterceptor(raw, (Filter) NetworkController::serveStaticFromCache);
+            } else if (!policy.cacheStatic() && interceptor != null) {
+                interceptor.close();
+                interceptor = null;
+            }
+            APPLIED.put(driver, new Applied(policy, interceptor));
+            log.debug("Applied {}", policy);
+        } catch (WebDriverException e) {
+            log.warn("Could not apply {}: {}", policy, e.getMessage());
+        }
+    }
+
+    /**
+     * Forgets the session's policy and stops its interception, called by the pool before it quits the session.
+     */
+    public static void release(WebDriver driver) {
+        Applied applied = APPLIED.remove(driver);
+        if (applied != null && applied.interceptor() != null) {
+            try {
+                applied.interceptor().close();
+            } catch (RuntimeException e) {
+                log.debug("Ignoring error while closing network interceptor: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Resource timings collected since the last call, recorded in {@link ActionMetrics} as
+     * "network:&lt;page path&gt;:&lt;initiator type&gt;".
+     */
+    @SuppressWarnings("unchecked")
+    public static List<ResourceTiming> recordResourceTimings(WebDriver driver) {
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(RESOURCE_TIMINGS_SCRIPT);
+        String page = String.valueOf(result.get("page"));
+        List<ResourceTiming> timings = new ArrayList<>();
+        for (Map<String, Object> entry : (List<Map<String, Object>>) result.get("entries")) {
+            ResourceTiming timing = new ResourceTiming(
+                    (String) entry.get("name"),
+                    (String) entry.get("initiatorType"),
+                    ((Number) entry.get("startTime")).doubleValue(),
+                    ((Number) entry.get("duration")).doubleValue(),
+                    ((Number) entry.get("transferSize")).longValue());
+            timings.add(timing);
+            ActionMetrics.record("network:" + page + ":" + timing.initiatorType(),
+                    (long) (timing.durationMillis() * 1_000_000), 0, 0);
+        }
+        return timings;
+    }
+
+    private static HttpHandler serveStaticFromCache(HttpHandler next) {
+        return request -> {
+            String uri = request.getUri();
+            if (request.getMethod() != HttpMethod.GET || !isStatic(uri)) {
+                return next.execute(request);
+            }
+            CachedResponse cached = STATIC_CACHE.get(uri);
+            if (cached != null) {
+                return cached.toResponse();
+            }
+            HttpResponse response = next.execute(request);
+            if (response.getStatus() == 200 && STATIC_CACHE.size() < MAX_CACHED_RESPONSES) {
+                byte[] body = Contents.bytes(response.getContent());
+                response.setContent(Contents.bytes(body));
+                if (body.length <= MAX_CACHED_BYTES) {
+                    Map<String, List<String>> headers = new LinkedHashMap<>();
+                    response.forEachHeader((name, value) -> headers.computeIfAbsent(name, key -> new ArrayList<>()).add(value));
+                    STATIC_CACHE.put(uri, new CachedResponse(200, headers, body));
+                }
+            }
+            return response;
+        };
+    }
+
+    private static boolean isStatic(String uri) {
+        int query = uri.indexOf('?');
+        String path = (query < 0 ? uri : uri.substring(0, query)).toLowerCase(Locale.ROOT);
+        return STATIC_EXTENSIONS.stream().anyMatch(path::endsWith);
+    }
+
+    // DevTools expects bytes per second, -1 disables the limit
+    private static double bytesPerSecond(int kbps) {
+        return kbps > 0 ? kbps * 1000 / 8.0 : -1;
+    }
+}
@@ -0,0 +1,192 @@
+package utils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * What the browser may load and how fast: blocked resource types and URL patterns, optional
+ * throttling and an optional in-JVM cache for static files. Immutable; build one with
+ * {@link #builder()} or read the configured one with {@link #fromConfig()}.
+ */
+public final class NetworkPolicy {
+
+    public static final NetworkPolicy UNRESTRICTED = builder().build();
+
+    private final Set<ResourceType> blocked;
+    private final List<String> blockedUrls;
+    private final int latencyMillis;
+    private final int downloadKbps;
+    private final int uploadKbps;
+    private final boolean cacheStatic;
+
+    private NetworkPolicy(Builder builder) {
+        this.blocked = builder.blocked.isEmpty() ? Set.of() : Set.copyOf(builder.blocked);
+        this.blockedUrls = List.copyOf(builder.blockedUrls);
+        this.latencyMillis = builder.latencyMillis;
+        this.downloadKbps = builder.downloadKbps;
+        this.uploadKbps = builder.uploadKbps;
+        this.cacheStatic = builder.cacheStatic;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * network.block (comma separated resource types), network.blockUrls (DevTools URL patterns),
+     * network.latencyMillis, network.downloadKbps, network.uploadKbps and network.cacheStatic.
+     */
+    public static NetworkPolicy fromConfig() {
+        Builder builder = builder()
+                .throttle(ConfigReader.getInt("network.latencyMillis", 0),
+                        ConfigReader.getInt("network.downloadKbps", 0),
+                        ConfigReader.getInt("network.uploadKbps", 0))
+                .cacheStatic(ConfigReader.getBoolean("network.cacheStatic", false));
+        for (String type : ConfigReader.getProperty("network.block", "").split(",")) {
+            if (!type.isBlank()) {
+                builder.block(ResourceType.fromName(type));
+            }
+        }
+        for (String pattern : ConfigReader.getProperty("network.blockUrls", "").split(",")) {
+            if (!pattern.isBlank()) {
+                builder.blockUrl(pattern.trim());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * The configured policy adjusted by the {@link NetworkProfile} of the test method or its class.
+     */
+    public static NetworkPolicy forTest(Method method) {
+        NetworkProfile profile = method.getAnnotation(NetworkProfile.class);
+        if (profile == null) {
+            profile = method.getDeclaringClass().getAnnotation(NetworkProfile.class);
+        }
+        NetworkPolicy configured = fromConfig();
+        return profile == null ? configured : configured.with(profile);
+    }
+
+    public NetworkPolicy with(NetworkProfile profile) {
+        Builder builder = toBuilder();
+        Arrays.stream(profile.allow()).forEach(builder.blocked::remove);
+        builder.blocked.addAll(Arrays.asList(profile.block()));
+        builder.throttle(
+                profile.latencyMillis() >= 0 ? profile.latencyMillis() : latencyMillis,
+                profile.downloadKbps() >= 0 ? profile.downloadKbps() : downloadKbps,
+                profile.uploadKbps() >= 0 ? profile.uploadKbps() : uploadKbps);
+        return builder.build();
+    }
+
+    public Builder toBuilder() {
+        Builder builder = builder()
+                .throttle(latencyMillis, downloadKbps, uploadKbps)
+                .cacheStatic(cacheStatic);
+        builder.blocked.addAll(blocked);
+        builder.blockedUrls.addAll(blockedUrls);
+        return builder;
+    }
+
+    // All DevTools URL patterns to block
+    public List<String> blockedUrlPatterns() {
+        List<String> patterns = new ArrayList<>(blockedUrls);
+        blocked.stream().sorted().forEach(type -> patterns.addAll(type.urlPatterns()));
+        return patterns;
+    }
+
+    public boolean isBlocked(ResourceType type) {
+        return blocked.contains(type);
+    }
+
+    public boolean isThrottled() {
+        return latencyMillis > 0 || downloadKbps > 0 || uploadKbps > 0;
+    }
+
+    public int latencyMillis() {
+        return latencyMillis;
+    }
+
+    public int downloadKbps() {
+        return downloadKbps;
+    }
+
+    public int uploadKbps() {
+        return uploadKbps;
+    }
+
+    public boolean cacheStatic() {
+        return cacheStatic;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof NetworkPolicy policy)) {
+            return false;
+        }
+        return blocked.equals(policy.blocked) && blockedUrls.equals(policy.blockedUrls)
+                && latencyMillis == policy.latencyMillis && downloadKbps == policy.downloadKbps
+                && uploadKbps == policy.uploadKbps && cacheStatic == policy.cacheStatic;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(blocked, blockedUrls, latencyMillis, downloadKbps, uploadKbps, cacheStatic);
+    }
+
+    @Override
+    public String toString() {
+        return "NetworkPolicy{blocked=" + blocked + ", blockedUrls=" + blockedUrls
+                + ", latencyMillis=" + latencyMillis + ", downloadKbps=" + downloadKbps
+                + ", uploadKbps=" + uploadKbps + ", cacheStatic=" + cacheStatic + "}";
+    }
+
+    public static final class Builder {
+
+        private final Set<ResourceType> blocked = EnumSet.noneOf(ResourceType.class);
+        private final List<String> blockedUrls = new ArrayList<>();
+        private int latencyMillis;
+        private int downloadKbps;
+        private int uploadKbps;
+        private boolean cacheStatic;
+
+        private Builder() {
+        }
+
+        public Builder block(ResourceType... types) {
+            blocked.addAll(Arrays.asList(types));
+            return this;
+        }
+
+        public Builder blockUrl(String devToolsPattern) {
+            blockedUrls.add(devToolsPattern);
+            return this;
+        }
+
+        /**
+         * @param latencyMillis added round-trip latency, 0 for none
+         * @param downloadKbps  download limit in kbit/s, 0 for unlimited
+         * @param uploadKbps    upload limit in kbit/s, 0 for unlimited
+         */
+        public Builder throttle(int latencyMillis, int downloadKbps, int uploadKbps) {
+            this.latencyMillis = latencyMillis;
+            this.downloadKbps = downloadKbps;
+            this.uploadKbps = uploadKbps;
+            return this;
+        }
+
+        // Serve static files (css, js, images, fonts) from an in-JVM cache after the first download
+        public Builder cacheStatic(boolean cacheStatic) {
+            this.cacheStatic = cacheStatic;
+            return this;
+        }
+
+        public NetworkPolicy build() {
+            return new NetworkPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Adjusts the configured {@link NetworkPolicy} (network.* keys) for a test or a test class,
+ * e.g. {@code @NetworkProfile(allow = ResourceType.IMAGES)} for a test that checks images or
+ * {@code @NetworkProfile(latencyMillis = 400, downloadKbps = 1600)} for a slow-network test.
+ * A method annotation wins over the class annotation.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface NetworkProfile {
+
+    // Resource types to load even though the configured policy blocks them
+    ResourceType[] allow() default {};
+
+    ResourceType[] block() default {};
+
+    // Values below 0 keep the configured setting
+    int latencyMillis() default -1;
+
+    int downloadKbps() default -1;
+
+    int uploadKbps() default -1;
+}
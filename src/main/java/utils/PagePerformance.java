@@ -0,0 +1,119 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Navigation Timing, Paint Timing, Largest Contentful Paint and Cumulative Layout Shift of the
+ * current document, read in one async script. After a client-side route change (SauceDemo is a
+ * single-page app) only CLS belongs to the new view, so the load metrics are left empty; open the
+ * page by URL to measure them. Budgets come from perf.budget.&lt;page&gt;.&lt;metric&gt; keys.
+ */
+public record PagePerformance(String page, String url, boolean hardNavigation, Double ttfbMs,
+                              Double domContentLoadedMs, Double loadMs, Double fcpMs, Double lcpMs, Double cls) {
+
+    // Buffered observers deliver LCP/CLS entries in their first callback, which runs before the timeout
+    private static final String CAPTURE_SCRIPT =
+            "var done = arguments[arguments.length - 1];"
+                    + "var nav = performance.getEntriesByType('navigation')[0];"
+                    + "var fcp = performance.getEntriesByName('first-contentful-paint')[0];"
+                    + "var result = {url: location.href, hard: !!nav && nav.name === location.href,"
+                    + "  ttfb: nav ? nav.responseStart : null,"
+                    + "  dcl: nav && nav.domContentLoadedEventEnd > 0 ? nav.domContentLoadedEventEnd : null,"
+                    + "  load: nav && nav.loadEventEnd > 0 ? nav.loadEventEnd : null,"
+                    + "  fcp: fcp ? fcp.startTime : null, lcp: null, cls: 0};"
+                    + "try {"
+                    + "  new PerformanceObserver(function (list) {"
+                    + "    list.getEntries().forEach(function (e) { result.lcp = Math.max(result.lcp || 0, e.renderTime || e.loadTime || e.startTime); });"
+                    + "  }).observe({type: 'largest-contentful-paint', buffered: true});"
+                    + "  new PerformanceObserver(function (list) {"
+                    + "    list.getEntries().forEach(function (e) { if (!e.hadRecentInput) { result.cls += e.value; } });"
+                    + "  }).observe({type: 'layout-shift', buffered: true});"
+                    + "} catch (e) { }"
+                    + "setTimeout(function () { done(result); }, 0);";
+
+    private static final boolean CAPTURE_ON_NAVIGATION = ConfigReader.getBoolean("perf.capture", false);
+
+    /**
+     * Capture hook for tests right after they navigate to a page; a no-op unless perf.capture=true,
+     * and a failed capture never fails the test.
+     */
+    public static void captureIfEnabled(WebDriver driver, String page) {
+        if (!CAPTURE_ON_NAVIGATION) {
+            return;
+        }
+        try {
+            capture(driver, page);
+        } catch (WebDriverException | ClassCastException e) {
+            LoggerFactory.getLogger(PagePerformance.class).debug("No performance data for {}: {}", page, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the metrics of the current document and adds them to the run's {@link PerformanceReport}.
+     */
+    @SuppressWarnings("unchecked")
+    public static PagePerformance capture(WebDriver driver, String page) {
+        Map<String, Object> raw = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(CAPTURE_SCRIPT);
+        boolean hard = Boolean.TRUE.equals(raw.get("hard"));
+        PagePerformance performance = new PagePerformance(page, (String) raw.get("url"), hard,
+                hard ? number(raw.get("ttfb")) : null,
+                hard ? number(raw.get("dcl")) : null,
+                hard ? number(raw.get("load")) : null,
+                hard ? number(raw.get("fcp")) : null,
+                hard ? number(raw.get("lcp")) : null,
+                number(raw.get("cls")));
+        PerformanceReport.add(performance);
+        return performance;
+    }
+
+    // Non-empty metrics by their budget/report name
+    public Map<String, Double> metrics() {
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        putIfPresent(metrics, "ttfbMs", ttfbMs);
+        putIfPresent(metrics, "domContentLoadedMs", domContentLoadedMs);
+        putIfPresent(metrics, "loadMs", loadMs);
+        putIfPresent(metrics, "fcpMs", fcpMs);
+        putIfPresent(metrics, "lcpMs", lcpMs);
+        putIfPresent(metrics, "cls", cls);
+        return metrics;
+    }
+
+    /**
+     * Metrics above their configured perf.budget.&lt;page&gt;.&lt;metric&gt;, as readable messages.
+     */
+    public List<String> budgetViolations() {
+        List<String> violations = new ArrayList<>();
+        metrics().forEach((metric, value) -> {
+            String budget = ConfigReader.getProperty("perf.budget." + page + "." + metric);
+            if (budget != null && !budget.isBlank() && value > Double.parseDouble(budget)) {
+                violations.add(page + " " + metric + " = " + Math.round(value * 1000) / 1000.0 + " exceeds budget " + budget);
+            }
+        });
+        return violations;
+    }
+
+    public void assertWithinBudget() {
+        List<String> violations = budgetViolations();
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Performance budget exceeded: " + String.join("; ", violations));
+        }
+    }
+
+    private static void putIfPresent(Map<String, Double> metrics, String name, Double value) {
+        if (value != null) {
+            metrics.put(name, value);
+        }
+    }
+
+    private static Double number(Object value) {
+        return value instanceof Number number ? number.doubleValue() : null;
+    }
+}
@@ -0,0 +1,179 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects the {@link PagePerformance} captures of a run, appends their per-page medians to
+ * {@code <history.dir>/performance.csv} and writes a trend table (target/performance/trend.md)
+ * comparing this run with the median of the previous perf.trend.runs runs. The raw samples of the run
+ * are kept in samples.csv next to the trend table.
+ */
+public class PerformanceReport {
+
+    private static final Logger log = LoggerFactory.getLogger(PerformanceReport.class);
+    private static final String HEADER = "run,page,metric,median,samples";
+    private static final String SAMPLES_HEADER = "page,metric,value";
+    static final String SAMPLES_FILE = "samples.csv";
+
+    private static final Queue<PagePerformance> CAPTURES = new ConcurrentLinkedQueue<>();
+
+    static void add(PagePerformance performance) {
+        CAPTURES.add(performance);
+    }
+
+    /**
+     * Writes this run's raw samples to {@code <perf.reportDir>/samples.csv} and, unless
+     * {@code perf.recordHistory=false} (set for the shards of a ShardRunner run, whose parent records the
+     * merged run instead), appends the run to the history and writes the trend table.
+     */
+    public static void write() {
+        if (CAPTURES.isEmpty()) {
+            return;
+        }
+        Map<String, List<Double>> samples = new TreeMap<>();
+        CAPTURES.forEach(capture -> capture.metrics().forEach((metric, value) ->
+                samples.computeIfAbsent(capture.page() + "," + metric, key -> new ArrayList<>()).add(value)));
+        CAPTURES.clear();
+
+        Path reportDir = reportDir();
+        try {
+            Files.createDirectories(reportDir);
+            List<String> rows = new ArrayList<>();
+            rows.add(SAMPLES_HEADER);
+            samples.forEach((key, values) -> values.forEach(value -> rows.add(key + "," + value)));
+            Files.write(reportDir.resolve(SAMPLES_FILE), rows, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn("Could not write performance samples: {}", e.getMessage());
+        }
+        if (ConfigReader.getBoolean("perf.recordHistory", true)) {
+            record(samples);
+        }
+    }
+
+    /**
+     * Records the samples.csv files of several partial runs (e.g. shards) as one run.
+     */
+    public static void merge(List<Path> sampleFiles) {
+        Map<String, List<Double>> samples = new TreeMap<>();
+        for (Path file : sampleFiles) {
+            try {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    int value = line.lastIndexOf(',');
+                    if (line.equals(SAMPLES_HEADER) || value < 0) {
+                        continue;
+                    }
+                    samples.computeIfAbsent(line.substring(0, value), key -> new ArrayList<>())
+                            .add(Double.parseDouble(line.substring(value + 1)));
+                }
+            } catch (IOException | NumberFormatException e) {
+                log.warn("Skipping unreadable performance samples {}: {}", file, e.getMessage());
+            }
+        }
+        if (!samples.isEmpty()) {
+            record(samples);
+        }
+    }
+
+    public static Path reportDir() {
+        return Path.of(ConfigReader.getProperty("perf.reportDir", "target/performance"));
+    }
+
+    // Appends one run of per-page medians to the history and rewrites the trend table
+    private static void record(Map<String, List<Double>> samples) {
+        String run = Instant.now().truncatedTo(ChronoUnit.SECONDS).toString();
+        Path history = DurationHistory.historyDir().resolve("performance.csv");
+        Path reportDir = reportDir();
+        try {
+            Files.createDirectories(history.getParent());
+            List<String> rows = new ArrayList<>();
+            if (!Files.exists(history)) {
+                rows.add(HEADER);
+            }
+            samples.forEach((key, values) -> rows.add(run + "," + key + "," + round(median(values)) + "," + values.size()));
+            Files.write(history, rows, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+
+            Files.createDirectories(reportDir);
+            Files.writeString(reportDir.resolve("trend.md"), trend(Files.readAllLines(history, StandardCharsets.UTF_8), run),
+                    StandardCharsets.UTF_8);
+            log.info("Performance trend written to {}", reportDir.resolve("trend.md").toAbsolutePath());
+        } catch (IOException e) {
+            log.warn("Could not write performance report: {}", e.getMessage());
+        }
+    }
+
+    private static String trend(List<String> lines, String currentRun) {
+        int window = ConfigReader.getInt("perf.trend.runs", 10);
+        double regressionPercent = ConfigReader.getLong("perf.trend.regressionPercent", 20);
+
+        // page,metric -> run -> median, runs in file order
+        Map<String, LinkedHashMap<String, Double>> series = new TreeMap<>();
+        for (String line : lines) {
+            String[] columns = line.split(",");
+            if (columns.length < 4 || line.equals(HEADER)) {
+                continue;
+            }
+            series.computeIfAbsent(columns[1] + "," + columns[2], key -> new LinkedHashMap<>())
+                    .put(columns[0], Double.parseDouble(columns[3]));
+        }
+
+        StringBuilder report = new StringBuilder("# Page performance trend\n\nRun ").append(currentRun)
+                .append(", compared with the median of up to ").append(window).append(" previous runs.\n\n")
+                .append("| Page | Metric | This run | Baseline | Change | Recent runs |\n")
+                .append("|---|---|---|---|---|---|\n");
+        series.forEach((key, runs) -> {
+            Double current = runs.get(currentRun);
+            if (current == null) {
+                return;
+            }
+            List<Double> previous = new ArrayList<>(runs.values());
+            previous.remove(previous.size() - 1);
+            previous = previous.subList(Math.max(0, previous.size() - window), previous.size());
+            String[] pageAndMetric = key.split(",");
+            String baseline = "-";
+            String change = "-";
+            if (!previous.isEmpty()) {
+                double base = median(previous);
+                baseline = String.valueOf(round(base));
+                if (base > 0) {
+                    double percent = (current - base) / base * 100;
+                    change = (percent >= 0 ? "+" : "") + Math.round(percent * 10) / 10.0 + "%"
+                            + (percent > regressionPercent ? " **regression**" : "");
+                }
+            }
+            List<Double> recent = new ArrayList<>(runs.values());
+            recent = recent.subList(Math.max(0, recent.size() - window - 1), recent.size());
+            report.append("| ").append(pageAndMetric[0]).append(" | ").append(pageAndMetric[1])
+                    .append(" | ").append(round(current)).append(" | ").append(baseline)
+                    .append(" | ").append(change).append(" | ").append(recent).append(" |\n");
+        });
+        return report.toString();
+    }
+
+    private static double median(List<Double> values) {
+        List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
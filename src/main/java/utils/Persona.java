@@ -0,0 +1,63 @@
+package utils;
+
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.internal.IParameterInfo;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * A SauceDemo user the tests can run as. {@code canLogin} is false for users the application turns
+ * away at the login form, such as locked_out_user.
+ */
+public record Persona(String username, String password, boolean canLogin) {
+
+    /**
+     * The user of the username/password keys in config.properties.
+     */
+    public static Persona configured() {
+        return new Persona(ConfigReader.getProperty("username"), ConfigReader.getProperty("password"), true);
+    }
+
+    /**
+     * The persona a test ran as: a data provider argument, else the persona its instance was created for
+     * by a persona factory, if any.
+     */
+    public static Optional<Persona> of(ITestResult result) {
+        return in(result.getParameters()).or(() -> in(result.getFactoryParameters()));
+    }
+
+    /**
+     * The persona of the factory-created test instance a method belongs to, if any.
+     */
+    public static Optional<Persona> of(ITestNGMethod method) {
+        IParameterInfo factory = method.getFactoryMethodParamsInfo();
+        return factory == null ? Optional.empty() : in(factory.getParameters());
+    }
+
+    public static Optional<Persona> in(Object[] arguments) {
+        return arguments == null ? Optional.empty() : Arrays.stream(arguments)
+                .filter(Persona.class::isInstance)
+                .map(Persona.class::cast)
+                .findFirst();
+    }
+
+    public boolean isConfigured() {
+        return username.equals(ConfigReader.getProperty("username"));
+    }
+
+    /**
+     * The test name tagged with this persona; unchanged for the configured user, so a single-user run
+     * keeps the names its history was recorded under.
+     */
+    public String qualify(String testName) {
+        return isConfigured() ? testName : testName + "[" + username + "]";
+    }
+
+    // Keeps the password out of test names and reports
+    @Override
+    public String toString() {
+        return username;
+    }
+}
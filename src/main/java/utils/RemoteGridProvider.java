@@ -0,0 +1,196 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sessions on a Selenium Grid (hub or standalone, e.g. {@code java -jar selenium-server.jar standalone}).
+ * <p>
+ * Never asks the grid for more sessions than it has slots: a semaphore sized from {@code grid.maxSessions}
+ * (or the grid's own slot count) throttles session creation, and before every new session the grid's
+ * GraphQL endpoint is asked how many slots are busy and how many requests are already queued. When the
+ * grid is unreachable, full with a queue of {@code grid.maxQueued} or more, or too slow to free a slot,
+ * the session is created by the fallback provider instead (disable with grid.fallbackToLocal=false).
+ * Sessions are augmented, so DevTools-based features such as {@link NetworkController} keep working.
+ */
+public class RemoteGridProvider implements DriverProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(RemoteGridProvider.class);
+
+    private static final String STATUS_QUERY = "{\"query\": \"{ grid { maxSession, sessionCount, sessionQueueSize } }\"}";
+
+    private final URL gridUrl;
+    private final DriverProvider fallback;
+    private final int configuredSlots;
+    private final int maxQueued;
+    private final Duration acquireTimeout;
+    private final Duration statusTimeout;
+    private final HttpClient http;
+    private final Set<WebDriver> sessions = ConcurrentHashMap.newKeySet();
+    private volatile Semaphore slots;
+
+    record GridStatus(int maxSession, int sessionCount, int queued) {
+
+        int free() {
+            return maxSession - sessionCount;
+        }
+    }
+
+    /**
+     * @param fallback provider used when the grid can't take a session, or null to fail instead
+     * @param slots    sessions this run may hold on the grid, 0 for the grid's total slot count
+     */
+    public RemoteGridProvider(URL gridUrl, DriverProvider fallback, int slots, int maxQueued,
+                              Duration acquireTimeout, Duration statusTimeout) {
+        this.gridUrl = gridUrl;
+        this.fallback = fallback;
+        this.configuredSlots = slots;
+        this.maxQueued = maxQueued;
+        this.acquireTimeout = acquireTimeout;
+        this.statusTimeout = statusTimeout;
+        this.http = HttpClient.newBuilder().connectTimeout(statusTimeout).build();
+    }
+
+    /**
+     * grid.url, grid.maxSessions, grid.maxQueued, grid.acquireTimeoutSeconds, grid.statusTimeoutMillis, grid.fallbackToLocal.
+     */
+    public static RemoteGridProvider fromConfig(DriverProvider local) {
+        String url = ConfigReader.getProperty("grid.url", "http://localhost:4444");
+        try {
+            return new RemoteGridProvider(URI.create(url).toURL(),
+                    ConfigReader.getBoolean("grid.fallbackToLocal", true) ? local : null,
+                    ConfigReader.getInt("grid.maxSessions", 0),
+                    ConfigReader.getInt("grid.maxQueued", 0),
+                    Duration.ofSeconds(ConfigReader.getLong("grid.acquireTimeoutSeconds", 30)),
+                    Duration.ofMillis(ConfigReader.getLong("grid.statusTimeoutMillis", 2000)));
+        } catch (MalformedURLException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid grid.url: " + url, e);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "grid (" + gridUrl + ")";
+    }
+
+    public boolean isReachable() {
+        return status().isPresent();
+    }
+
+    @Override
+    public WebDriver create(ChromeOptions options) {
+        Optional<GridStatus> before = status();
+        if (before.isEmpty()) {
+            return fallback(options, "grid at " + gridUrl + " is not reachable");
+        }
+        Semaphore permits = slots(before.get());
+        if (!acquire(permits)) {
+            return fallback(options, "no grid slot of this run freed up within " + acquireTimeout.toSeconds() + "s");
+        }
+
+        // Other clients may share the grid; don't add to a queue that is already backed up
+        Optional<GridStatus> now = status();
+        if (now.isEmpty() || (now.get().free() <= 0 && now.get().queued() >= maxQueued)) {
+            permits.release();
+            return fallback(options, now.map(status -> "grid is full with " + status.queued() + " queued requests")
+                    .orElse("grid at " + gridUrl + " stopped answering"));
+        }
+
+        try {
+            WebDriver driver = new Augmenter().augment(new RemoteWebDriver(gridUrl, options));
+            sessions.add(driver);
+            log.debug("Grid session created, {} of this run's slots left", permits.availablePermits());
+            return driver;
+        } catch (WebDriverException e) {
+            permits.release();
+            return fallback(options, "session creation failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void onQuit(WebDriver driver) {
+        if (sessions.remove(driver)) {
+            slots.release();
+        } else if (fallback != null) {
+            fallback.onQuit(driver);
+        }
+    }
+
+    /**
+     * Busy slots and queued session requests of the grid, empty when it does not answer.
+     */
+    @SuppressWarnings("unchecked")
+    Optional<GridStatus> status() {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(gridUrl.toString().replaceAll("/+$", "") + "/graphql"))
+                .timeout(statusTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(STATUS_QUERY))
+                .build();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return Optional.empty();
+            }
+            Map<String, Object> body = new Json().toType(response.body(), Json.MAP_TYPE);
+            Map<String, Object> grid = (Map<String, Object>) ((Map<String, Object>) body.get("data")).get("grid");
+            return Optional.of(new GridStatus(
+                    ((Number) grid.get("maxSession")).intValue(),
+                    ((Number) grid.get("sessionCount")).intValue(),
+                    ((Number) grid.get("sessionQueueSize")).intValue()));
+        } catch (IOException | RuntimeException e) {
+            log.debug("Grid status unavailable: {}", e.getMessage());
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    // Sized once, from config or from the first status the grid reports
+    private synchronized Semaphore slots(GridStatus status) {
+        if (slots == null) {
+            int size = configuredSlots > 0 ? configuredSlots : Math.max(1, status.maxSession());
+            slots = new Semaphore(size, true);
+            log.info("Using up to {} sessions on the grid at {}", size, gridUrl);
+        }
+        return slots;
+    }
+
+    private boolean acquire(Semaphore permits) {
+        try {
+            return permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private WebDriver fallback(ChromeOptions options, String reason) {
+        if (fallback == null) {
+            throw new IllegalStateException("No grid session: " + reason);
+        }
+        log.warn("No grid session ({}), starting a {} session instead", reason, fallback.name());
+        return fallback.create(options);
+    }
+}
@@ -0,0 +1,32 @@
+package utils;
+
+import java.util.List;
+
+/**
+ * Groups of requests a {@link NetworkPolicy} can block, as Chrome DevTools URL patterns.
+ */
+public enum ResourceType {
+
+    IMAGES(List.of("*.png", "*.png?*", "*.jpg", "*.jpg?*", "*.jpeg", "*.jpeg?*", "*.gif", "*.gif?*",
+            "*.webp", "*.webp?*", "*.svg", "*.svg?*", "*.ico", "*.ico?*")),
+    FONTS(List.of("*.woff", "*.woff?*", "*.woff2", "*.woff2?*", "*.ttf", "*.ttf?*", "*.otf", "*.otf?*",
+            "*fonts.googleapis.com*", "*fonts.gstatic.com*")),
+    MEDIA(List.of("*.mp4", "*.mp4?*", "*.webm", "*.webm?*", "*.mp3", "*.mp3?*")),
+    // Analytics and error-reporting beacons; SauceDemo reports to backtrace.io
+    TRACKERS(List.of("*google-analytics.com*", "*googletagmanager.com*", "*doubleclick.net*",
+            "*backtrace.io*", "*segment.io*", "*hotjar.com*", "*optimizely.com*", "*newrelic.com*", "*nr-data.net*"));
+
+    private final List<String> urlPatterns;
+
+    ResourceType(List<String> urlPatterns) {
+        this.urlPatterns = urlPatterns;
+    }
+
+    public List<String> urlPatterns() {
+        return urlPatterns;
+    }
+
+    public static ResourceType fromName(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
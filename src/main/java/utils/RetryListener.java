@@ -0,0 +1,55 @@
+package utils;
+
+import org.testng.IAnnotationTransformer;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.internal.annotations.DisabledRetryAnalyzer;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Attaches {@link FlakyRetryAnalyzer} to every test that has no retry analyzer of its own
+ * (disable with retry.test.enabled=false) and records the final outcome of each test in
+ * {@link FlakinessHistory}.
+ */
+public class RetryListener implements IAnnotationTransformer, ITestListener, ISuiteListener {
+
+    private static final boolean ENABLED = ConfigReader.getBoolean("retry.test.enabled", true);
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        Class<?> analyzer = annotation.getRetryAnalyzerClass();
+        if (ENABLED && (analyzer == null || analyzer == DisabledRetryAnalyzer.class)) {
+            annotation.setRetryAnalyzer(FlakyRetryAnalyzer.class);
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        String key = key(result);
+        FlakinessHistory.get().record(key, true, FlakyRetryAnalyzer.retriesOf(key) > 0);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        String key = key(result);
+        FlakinessHistory.get().record(key, false, FlakyRetryAnalyzer.retriesOf(key) > 0);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        FlakinessHistory.get().save();
+    }
+
+    // Each persona a test runs as has its own history
+    static String key(ITestResult result) {
+        String method = result.getMethod().getMethodName();
+        return DurationHistory.key(result.getTestClass().getName(),
+                Persona.of(result).map(persona -> persona.qualify(method)).orElse(method));
+    }
+}
@@ -0,0 +1,90 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Action-level retry with exponential backoff. Only failures classified as transient by
+ * {@link FailureKind} are retried, and retrying stops once the elapsed-time budget is spent.
+ * Defaults come from the retry.action.* keys in config.properties.
+ */
+public final class RetryPolicy {
+
+    private static final Logger log = LoggerFactory.getLogger(RetryPolicy.class);
+
+    private static final RetryPolicy DEFAULTS = new RetryPolicy(
+            ConfigReader.getInt("retry.action.maxAttempts", 3),
+            Duration.ofMillis(ConfigReader.getLong("retry.action.initialDelayMillis", 50)),
+            Duration.ofMillis(ConfigReader.getLong("retry.action.maxDelayMillis", 1000)),
+            Duration.ofMillis(ConfigReader.getLong("retry.action.maxElapsedMillis", 10_000)));
+
+    private static final double BACKOFF_MULTIPLIER = 2.0;
+
+    private final int maxAttempts;
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final Duration maxElapsed;
+
+    private RetryPolicy(int maxAttempts, Duration initialDelay, Duration maxDelay, Duration maxElapsed) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1, got " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.maxElapsed = maxElapsed;
+    }
+
+    public static RetryPolicy defaults() {
+        return DEFAULTS;
+    }
+
+    public RetryPolicy withMaxAttempts(int attempts) {
+        return new RetryPolicy(attempts, initialDelay, maxDelay, maxElapsed);
+    }
+
+    public RetryPolicy withMaxElapsed(Duration elapsed) {
+        return new RetryPolicy(maxAttempts, initialDelay, maxDelay, elapsed);
+    }
+
+    public <T> T call(String action, Supplier<T> body) {
+        long start = System.nanoTime();
+        long delayMillis = initialDelay.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return body.get();
+            } catch (RuntimeException e) {
+                FailureKind kind = FailureKind.classify(e);
+                long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+                if (!kind.isRetryableAction() || attempt >= maxAttempts
+                        || elapsedMillis + delayMillis > maxElapsed.toMillis()) {
+                    throw e;
+                }
+                log.debug("{} failed with {} (attempt {}/{}), retrying in {} ms",
+                        action, kind, attempt, maxAttempts, delayMillis);
+                ActionMetrics.recordRetry();
+                sleep(delayMillis);
+                delayMillis = Math.min(maxDelay.toMillis(), (long) (delayMillis * BACKOFF_MULTIPLIER));
+            }
+        }
+    }
+
+    public void run(String action, Runnable body) {
+        call(action, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * SauceDemo catalog with the product ids the shop stores in its "cart-contents" localStorage entry.
+ */
+public enum SauceDemoProduct {
+    BACKPACK(4, "Sauce Labs Backpack"),
+    BIKE_LIGHT(0, "Sauce Labs Bike Light"),
+    BOLT_T_SHIRT(1, "Sauce Labs Bolt T-Shirt"),
+    FLEECE_JACKET(5, "Sauce Labs Fleece Jacket"),
+    ONESIE(2, "Sauce Labs Onesie"),
+    RED_T_SHIRT(3, "Test.allTheThings() T-Shirt (Red)");
+
+    private final int id;
+    private final String displayName;
+
+    SauceDemoProduct(int id, String displayName) {
+        this.id = id;
+        this.displayName = displayName;
+    }
+
+    public int id() {
+        return id;
+    }
+
+    public String displayName() {
+        return displayName;
+    }
+
+    public static SauceDemoProduct fromName(String displayName) {
+        return Arrays.stream(values())
+                .filter(product -> product.displayName.equalsIgnoreCase(displayName.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown SauceDemo product: " + displayName));
+    }
+}
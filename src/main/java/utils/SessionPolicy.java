@@ -0,0 +1,22 @@
+package utils;
+
+/**
+ * Controls how long a browser session lives before it is quit.
+ * Between test methods a surviving session is reset (cookies, storage, back to baseUrl) instead of relaunched.
+ */
+public enum SessionPolicy {
+    /** Quit and relaunch the browser after every test method. */
+    METHOD,
+    /**
+     * Reset between methods; a session serves one test class at a time. Under method parallelism each worker
+     * thread returns its session to the pool when it moves on to a test of another class.
+     */
+    CLASS,
+    /** Reset between methods, keep the session until the suite finishes. */
+    SUITE;
+
+    public static SessionPolicy current() {
+        String value = ConfigReader.getProperty("session.policy", "class");
+        return valueOf(value.trim().toUpperCase());
+    }
+}
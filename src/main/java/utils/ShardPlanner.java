@@ -0,0 +1,47 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Splits weighted work units into balanced shards with the longest-processing-time-first rule:
+ * units are taken from heaviest to lightest and each goes to the currently lightest shard.
+ * The result depends only on the input, so every worker computes the same plan.
+ */
+public class ShardPlanner {
+
+    public record Shard(int index, List<String> units, long estimatedMillis) {
+    }
+
+    public static List<Shard> plan(Map<String, Long> weights, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be at least 1, got " + shardCount);
+        }
+        List<Map.Entry<String, Long>> units = new ArrayList<>(weights.entrySet());
+        units.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        List<List<String>> assigned = new ArrayList<>();
+        long[] loads = new long[shardCount];
+        PriorityQueue<Integer> lightest = new PriorityQueue<>(
+                Comparator.<Integer>comparingLong(shard -> loads[shard]).thenComparingInt(shard -> shard));
+        for (int i = 0; i < shardCount; i++) {
+            assigned.add(new ArrayList<>());
+            lightest.add(i);
+        }
+        for (Map.Entry<String, Long> unit : units) {
+            int shard = lightest.poll();
+            assigned.get(shard).add(unit.getKey());
+            loads[shard] += unit.getValue();
+            lightest.add(shard);
+        }
+
+        List<Shard> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new Shard(i, List.copyOf(assigned.get(i)), loads[i]));
+        }
+        return shards;
+    }
+}
@@ -0,0 +1,152 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Runs the suite as N shards in parallel forked JVMs on one machine, each selecting its part via
+ * {@link ShardSelector}. Must be started with the test classpath, e.g.
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) utils.ShardRunner 3
+ * </pre>
+ * Arguments: shard count (default shard.count, else 2) and suite file (default src/test/resources/testng.xml).
+ * -D options given to the runner are passed on to every shard. Shards write logs, metrics, failure
+ * artifacts and performance samples under target/shards/shard-N; when all are done they are merged into
+ * the usual locations, and the performance history gets one entry for the whole run.
+ */
+public class ShardRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRunner.class);
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(2, ConfigReader.getInt("shard.count", 2));
+        String suite = args.length > 1 ? args[1] : "src/test/resources/testng.xml";
+        Path outputRoot = Path.of("target", "shards");
+        Files.createDirectories(outputRoot);
+
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> forwarded = ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .filter(argument -> argument.startsWith("-D") && !argument.startsWith("-Dshard."))
+                .toList();
+
+        long start = System.nanoTime();
+        List<Process> processes = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            Path shardDir = outputRoot.resolve("shard-" + index);
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.addAll(forwarded);
+            command.add("-Dshard.index=" + index);
+            command.add("-Dshard.count=" + count);
+            // Every output goes to the shard's own directory and is merged below once all shards are done;
+            // only history.dir is shared, its files merge themselves under a lock
+            command.add("-Dlog.dir=" + shardDir.resolve("logs"));
+            command.add("-Dmetrics.dir=" + shardDir.resolve("metrics"));
+            command.add("-Dartifacts.dir=" + shardDir.resolve("failure-artifacts"));
+            command.add("-Dperf.reportDir=" + shardDir.resolve("performance"));
+            command.add("-Dperf.recordHistory=false");
+            command.add("org.testng.TestNG");
+            command.add("-d");
+            command.add(shardDir.resolve("testng").toString());
+            command.add(suite);
+
+            File output = outputRoot.resolve("shard-" + index + ".log").toFile();
+            processes.add(new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(output)
+                    .start());
+            log.info("Started shard {}/{}, output in {}", index + 1, count, output);
+        }
+
+        int failed = 0;
+        for (int index = 0; index < processes.size(); index++) {
+            int exitCode = processes.get(index).waitFor();
+            log.info("Shard {}/{} finished with exit code {}", index + 1, count, exitCode);
+            if (exitCode != 0) {
+                failed++;
+            }
+        }
+        log.info("{} shards finished in {} s, {} failed", count, (System.nanoTime() - start) / 1_000_000_000, failed);
+        mergeOutputs(outputRoot, count);
+        System.exit(failed == 0 ? 0 : 1);
+    }
+
+    // Combines the shards' outputs into the locations a single run writes to
+    private static void mergeOutputs(Path outputRoot, int count) {
+        List<Path> shardDirs = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            shardDirs.add(outputRoot.resolve("shard-" + index));
+        }
+        try {
+            // Per-test files, disjoint between shards
+            for (Path shardDir : shardDirs) {
+                copyTree(shardDir.resolve("logs"), Path.of(ConfigReader.getProperty("log.dir", "target/logs")));
+                copyTree(shardDir.resolve("failure-artifacts"),
+                        Path.of(ConfigReader.getProperty("artifacts.dir", "target/failure-artifacts")));
+            }
+            // Each shard's summaries, tagged with the shard; percentiles of different shards can't be combined
+            Path metricsDir = Path.of(ConfigReader.getProperty("metrics.dir", "target/metrics"));
+            concatCsv(shardDirs, Path.of("metrics", "metrics.csv"), metricsDir.resolve("metrics.csv"));
+            concatCsv(shardDirs, Path.of("metrics", "personas.csv"), metricsDir.resolve("personas.csv"));
+        } catch (IOException e) {
+            log.warn("Could not merge shard outputs: {}", e.getMessage());
+        }
+        // One run in the performance history, not one partial run per shard
+        PerformanceReport.merge(shardDirs.stream()
+                .map(shardDir -> shardDir.resolve("performance").resolve(PerformanceReport.SAMPLES_FILE))
+                .filter(Files::isRegularFile)
+                .toList());
+        log.info("Merged the outputs of {} shards", count);
+    }
+
+    private static void copyTree(Path from, Path to) throws IOException {
+        if (!Files.isDirectory(from)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(from)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                Path target = to.resolve(from.relativize(file).toString());
+                Files.createDirectories(target.getParent());
+                Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private static void concatCsv(List<Path> shardDirs, Path relative, Path target) throws IOException {
+        List<String> merged = new ArrayList<>();
+        for (int index = 0; index < shardDirs.size(); index++) {
+            Path file = shardDirs.get(index).resolve(relative);
+            if (!Files.isRegularFile(file)) {
+                continue;
+            }
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            if (lines.isEmpty()) {
+                continue;
+            }
+            if (merged.isEmpty()) {
+                merged.add("shard," + lines.get(0));
+            }
+            for (String line : lines.subList(1, lines.size())) {
+                merged.add(index + "," + line);
+            }
+        }
+        if (!merged.isEmpty()) {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+            Files.write(target, merged, StandardCharsets.UTF_8);
+        }
+    }
+}
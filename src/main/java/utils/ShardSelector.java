@@ -0,0 +1,61 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps only the tests of one shard when {@code shard.count} > 1, e.g.
+ * {@code mvn test -Dshard.index=1 -Dshard.count=3} on the second of three CI nodes.
+ * Shards are planned from {@link DurationHistory} with {@link ShardPlanner}; by default whole
+ * classes are kept together (shard.by=class) so class fixtures are built once per node.
+ */
+public class ShardSelector implements IMethodInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSelector.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        int count = ConfigReader.getInt("shard.count", 1);
+        if (count <= 1) {
+            return methods;
+        }
+        int index = ConfigReader.getInt("shard.index", 0);
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("shard.index must be in [0, " + count + "), got " + index);
+        }
+        boolean byMethod = "method".equalsIgnoreCase(ConfigReader.getProperty("shard.by", "class"));
+        long defaultMillis = ConfigReader.getLong("shard.defaultMillis", 5000);
+        DurationHistory history = DurationHistory.load();
+
+        Map<String, Long> weights = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            long estimate = history.estimateMillis(DurationHistory.key(method), defaultMillis);
+            weights.merge(unit(method, byMethod), estimate, Long::sum);
+        }
+        ShardPlanner.Shard shard = ShardPlanner.plan(weights, count).get(index);
+        Set<String> selected = Set.copyOf(shard.units());
+
+        List<IMethodInstance> kept = methods.stream()
+                .filter(instance -> selected.contains(unit(instance.getMethod(), byMethod)))
+                .collect(Collectors.toList());
+        log.info("Shard {}/{}: {} of {} tests, ~{} ms estimated{} -> {}", index + 1, count, kept.size(), methods.size(),
+                shard.estimatedMillis(), history.isEmpty() ? " (no history yet)" : "", shard.units());
+        return kept;
+    }
+
+    private static String unit(ITestNGMethod method, boolean byMethod) {
+        String className = method.getRealClass().getName();
+        return byMethod ? DurationHistory.key(className, method.getMethodName()) : className;
+    }
+}
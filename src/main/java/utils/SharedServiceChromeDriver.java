@@ -0,0 +1,30 @@
+package utils;
+
+import org.openqa.selenium.chrome.AddHasCasting;
+import org.openqa.selenium.chrome.AddHasCdp;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.remote.CommandInfo;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Chrome session attached to an already running chromedriver.
+ * Unlike ChromeDriver(service, options), quitting it ends only the browser session and leaves the
+ * shared chromedriver process alive for the next session. CDP support is kept.
+ */
+class SharedServiceChromeDriver extends ChromiumDriver {
+
+    SharedServiceChromeDriver(URL serviceUrl, ChromeOptions options) {
+        super(new HttpCommandExecutor(chromeCommands(), serviceUrl), options, ChromeOptions.CAPABILITY);
+    }
+
+    private static Map<String, CommandInfo> chromeCommands() {
+        Map<String, CommandInfo> commands = new HashMap<>(new AddHasCdp().getAdditionalCommands());
+        commands.putAll(new AddHasCasting().getAdditionalCommands());
+        return commands;
+    }
+}
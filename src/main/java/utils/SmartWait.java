@@ -0,0 +1,218 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Event-driven waits that resolve as soon as the page reaches the expected state.
+ * Polling starts fast and backs off while the condition stays false, and the time every
+ * condition actually needed is recorded so timeouts can be tuned from real numbers.
+ */
+public class SmartWait {
+
+    private static final Logger log = LoggerFactory.getLogger(SmartWait.class);
+
+    private static final long INITIAL_POLL_MILLIS = 25;
+    private static final long MAX_POLL_MILLIS = 500;
+    private static final double POLL_BACKOFF = 1.5;
+    private static final long DEFAULT_QUIET_MILLIS = 300;
+
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+
+    // Installs a MutationObserver and fetch/XHR counters once per document, then reports idleness
+    private static final String NETWORK_IDLE_SCRIPT =
+            "var quietMillis = arguments[0];"
+                    + "if (!window.__smartWait) {"
+                    + "  var state = window.__smartWait = {pending: 0, lastChange: Date.now()};"
+                    + "  var touch = function () { state.lastChange = Date.now(); };"
+                    + "  new MutationObserver(touch).observe(document, "
+                    + "      {subtree: true, childList: true, attributes: true, characterData: true});"
+                    + "  if (window.fetch) {"
+                    + "    var originalFetch = window.fetch;"
+                    + "    window.fetch = function () {"
+                    + "      state.pending++;"
+                    + "      return originalFetch.apply(this, arguments)"
+                    + "          .finally(function () { state.pending--; touch(); });"
+                    + "    };"
+                    + "  }"
+                    + "  var originalSend = XMLHttpRequest.prototype.send;"
+                    + "  XMLHttpRequest.prototype.send = function () {"
+                    + "    state.pending++;"
+                    + "    this.addEventListener('loadend', function () { state.pending--; touch(); });"
+                    + "    return originalSend.apply(this, arguments);"
+                    + "  };"
+                    + "}"
+                    + "var s = window.__smartWait;"
+                    + "return document.readyState === 'complete' && s.pending === 0"
+                    + "    && Date.now() - s.lastChange >= quietMillis;";
+
+    public static Duration defaultTimeout() {
+        return TimeoutProfile.NORMAL.timeout();
+    }
+
+    /**
+     * Polls the condition against the given driver with adaptive intervals until it returns a non-null,
+     * non-false value.
+     *
+     * @param name label used in timeout messages and in the recorded statistics
+     */
+    public static <T> T until(WebDriver driver, String name, Duration timeout, Function<WebDriver, T> condition) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long pollMillis = INITIAL_POLL_MILLIS;
+        while (true) {
+            try {
+                T result = condition.apply(driver);
+                if (result != null && !Boolean.FALSE.equals(result)) {
+                    record(name, System.nanoTime() - start, false);
+                    return result;
+                }
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                // The DOM is still changing, treat as not ready yet
+            }
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                record(name, System.nanoTime() - start, true);
+                throw new TimeoutException("Condition '" + name + "' not met within " + timeout.toMillis() + " ms");
+            }
+            sleep(Math.min(pollMillis, remainingMillis));
+            pollMillis = Math.min(MAX_POLL_MILLIS, (long) (pollMillis * POLL_BACKOFF));
+        }
+    }
+
+    // Same, on the current thread's session
+    public static <T> T until(String name, Duration timeout, Function<WebDriver, T> condition) {
+        return until(DriverManager.getDriver(), name, timeout, condition);
+    }
+
+    public static <T> T until(String name, Function<WebDriver, T> condition) {
+        return until(name, defaultTimeout(), condition);
+    }
+
+    // Visible text of the first match, or an empty string if nothing matches (e.g. a hidden cart badge)
+    public static String textOf(WebDriver driver, By locator) {
+        List<WebElement> elements = driver.findElements(locator);
+        return elements.isEmpty() ? "" : elements.get(0).getText();
+    }
+
+    public static String textOf(By locator) {
+        return textOf(DriverManager.getDriver(), locator);
+    }
+
+    public static String untilTextChanges(By locator, String previousText) {
+        return until("textChanges " + locator, driver -> {
+            String current = textOf(driver, locator);
+            return Objects.equals(current, previousText) ? null : current;
+        });
+    }
+
+    public static String untilTextEquals(By locator, String expectedText) {
+        return until("textEquals " + locator,
+                driver -> expectedText.equals(textOf(driver, locator)) ? expectedText : null);
+    }
+
+    public static int untilCountChanges(By locator, int previousCount) {
+        return untilCountChanges(DriverManager.getDriver(), locator, previousCount);
+    }
+
+    public static int untilCountChanges(WebDriver driver, By locator, int previousCount) {
+        return until(driver, "countChanges " + locator, defaultTimeout(), d -> {
+            int current = d.findElements(locator).size();
+            return current == previousCount ? null : current;
+        });
+    }
+
+    public static String untilUrlChanges(String previousUrl) {
+        return until("urlChanges", driver -> {
+            String current = driver.getCurrentUrl();
+            return Objects.equals(current, previousUrl) ? null : current;
+        });
+    }
+
+    public static String untilUrlContains(String fragment) {
+        return untilUrlContains(DriverManager.getDriver(), fragment);
+    }
+
+    public static String untilUrlContains(WebDriver driver, String fragment) {
+        return until(driver, "urlContains " + fragment, defaultTimeout(), d -> {
+            String current = d.getCurrentUrl();
+            return current != null && current.contains(fragment) ? current : null;
+        });
+    }
+
+    /**
+     * Waits until no fetch/XHR is in flight and the DOM has not changed for the quiet period.
+     */
+    public static void untilNetworkIdle(Duration quietPeriod) {
+        until("networkIdle", driver -> (Boolean) ((JavascriptExecutor) driver)
+                .executeScript(NETWORK_IDLE_SCRIPT, quietPeriod.toMillis()));
+    }
+
+    public static void untilNetworkIdle() {
+        untilNetworkIdle(Duration.ofMillis(DEFAULT_QUIET_MILLIS));
+    }
+
+    /**
+     * Per-condition timings recorded so far, sorted by condition name.
+     */
+    public static Map<String, String> statistics() {
+        Map<String, String> report = new TreeMap<>();
+        STATS.forEach((name, stats) -> report.put(name, stats.toString()));
+        return report;
+    }
+
+    public static void printStatistics() {
+        statistics().forEach((name, stats) -> log.info("[SmartWait] {} -> {}", name, stats));
+    }
+
+    private static void record(String name, long elapsedNanos, boolean timedOut) {
+        ActionMetrics.recordWait(elapsedNanos);
+        STATS.computeIfAbsent(name, key -> new Stats()).add(elapsedNanos / 1_000_000, timedOut);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+
+    private static final class Stats {
+        private long count;
+        private long timeouts;
+        private long totalMillis;
+        private long maxMillis;
+
+        synchronized void add(long millis, boolean timedOut) {
+            count++;
+            totalMillis += millis;
+            maxMillis = Math.max(maxMillis, millis);
+            if (timedOut) {
+                timeouts++;
+            }
+        }
+
+        @Override
+        public synchronized String toString() {
+            return "count=" + count + ", avg=" + (count == 0 ? 0 : totalMillis / count) + "ms"
+                    + ", max=" + maxMillis + "ms, timeouts=" + timeouts;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package utils;
+
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Named timeout/polling profiles, tunable per environment through config.properties.
+ */
+public enum TimeoutProfile {
+    /** Element checks on an already rendered page. */
+    FAST("timeout.fast", 3, 100, List.of(NoSuchElementException.class)),
+    /** Regular page interactions; reads the legacy {@code timeout} key. */
+    NORMAL("timeout", 5, 250, List.of(NoSuchElementException.class, StaleElementReferenceException.class)),
+    /** Full page loads and logins. */
+    SLOW("timeout.slow", 10, 500, List.of(NoSuchElementException.class, StaleElementReferenceException.class,
+            ElementNotInteractableException.class));
+
+    private final Duration timeout;
+    private final Duration polling;
+    private final List<Class<? extends Throwable>> ignored;
+
+    TimeoutProfile(String key, long defaultSeconds, long defaultPollingMillis, List<Class<? extends Throwable>> ignored) {
+        this.timeout = Duration.ofSeconds(ConfigReader.getLong(key, defaultSeconds));
+        this.polling = Duration.ofMillis(ConfigReader.getLong(key + ".pollingMillis", defaultPollingMillis));
+        this.ignored = ignored;
+    }
+
+    public Duration timeout() {
+        return timeout;
+    }
+
+    public Duration polling() {
+        return polling;
+    }
+
+    public List<Class<? extends Throwable>> ignoredExceptions() {
+        return ignored;
+    }
+}
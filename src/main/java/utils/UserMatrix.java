@@ -0,0 +1,92 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The SauceDemo personas of the user matrix file ({@code users.matrix}, default users.csv on the test
+ * classpath): one {@code username,password,canLogin} row per user, # starts a comment.
+ * <p>
+ * {@code users.personas} picks the users a run covers: empty for just the configured user,
+ * {@code all} for every row, or a comma-separated list of usernames.
+ */
+public class UserMatrix {
+
+    private static final Logger log = LoggerFactory.getLogger(UserMatrix.class);
+
+    /**
+     * The personas selected by {@code users.personas}, in file order.
+     */
+    public static List<Persona> selected() {
+        String selection = ConfigReader.getProperty("users.personas", "").trim();
+        if (selection.isEmpty()) {
+            return List.of(Persona.configured());
+        }
+        List<Persona> all = all();
+        if (selection.equalsIgnoreCase("all")) {
+            return all;
+        }
+        Set<String> wanted = new LinkedHashSet<>(Arrays.asList(selection.split("\\s*,\\s*")));
+        List<Persona> personas = all.stream().filter(persona -> wanted.remove(persona.username())).toList();
+        if (!wanted.isEmpty()) {
+            throw new IllegalArgumentException("users.personas names users missing from the user matrix: " + wanted);
+        }
+        return personas;
+    }
+
+    /**
+     * Every persona of the matrix file, regardless of {@code users.personas}.
+     */
+    public static List<Persona> all() {
+        return load(ConfigReader.getProperty("users.matrix", "users.csv"));
+    }
+
+    static List<Persona> load(String location) {
+        List<Persona> personas = new ArrayList<>();
+        List<String> lines = read(location);
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#") || line.startsWith("username,")) {
+                continue;
+            }
+            String[] columns = line.split("\\s*,\\s*", -1);
+            if (columns.length < 2 || columns[0].isEmpty()) {
+                throw new IllegalArgumentException("Invalid user matrix row " + (i + 1) + " in " + location + ": " + line);
+            }
+            boolean canLogin = columns.length < 3 || columns[2].isEmpty() || Boolean.parseBoolean(columns[2]);
+            personas.add(new Persona(columns[0], columns[1], canLogin));
+        }
+        log.debug("Loaded {} personas from {}", personas.size(), location);
+        return personas;
+    }
+
+    // A file path, or else a resource on the classpath
+    private static List<String> read(String location) {
+        try {
+            Path file = Path.of(location);
+            if (Files.isRegularFile(file)) {
+                return Files.readAllLines(file, StandardCharsets.UTF_8);
+            }
+            try (InputStream resource = UserMatrix.class.getResourceAsStream("/" + location)) {
+                if (resource == null) {
+                    throw new IllegalArgumentException("User matrix not found: " + location);
+                }
+                return new String(resource.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read user matrix " + location, e);
+        }
+    }
+}
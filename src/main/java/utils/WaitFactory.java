@@ -0,0 +1,39 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out one reusable WebDriverWait per driver and timeout profile instead of allocating a new one per call.
+ * A driver is only used by the thread that borrowed it, so sharing its waits is safe.
+ * The waits hold their driver, so {@link DriverPool} evicts them whenever it destroys a session.
+ */
+public class WaitFactory {
+
+    private static final Map<WebDriver, Map<TimeoutProfile, WebDriverWait>> WAITS = new ConcurrentHashMap<>();
+
+    public static WebDriverWait get(WebDriver driver, TimeoutProfile profile) {
+        Map<TimeoutProfile, WebDriverWait> waits = WAITS.computeIfAbsent(driver, d -> new EnumMap<>(TimeoutProfile.class));
+        synchronized (waits) {
+            return waits.computeIfAbsent(profile, p -> create(driver, p));
+        }
+    }
+
+    public static WebDriverWait get(TimeoutProfile profile) {
+        return get(DriverManager.getDriver(), profile);
+    }
+
+    public static void evict(WebDriver driver) {
+        WAITS.remove(driver);
+    }
+
+    private static WebDriverWait create(WebDriver driver, TimeoutProfile profile) {
+        WebDriverWait wait = new WebDriverWait(driver, profile.timeout(), profile.polling());
+        wait.ignoreAll(profile.ignoredExceptions());
+        return wait;
+    }
+}
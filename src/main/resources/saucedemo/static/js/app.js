@@ -0,0 +1,468 @@
+/*
+ * Minimal offline replica of https://www.saucedemo.com/ used by the local test server.
+ * It keeps the ids, classes, cookie and localStorage formats the page objects rely on:
+ *   cookie "session-username" holds the logged-in user,
+ *   localStorage "cart-contents" holds a JSON array of product ids.
+ */
+(function () {
+    'use strict';
+
+    var PASSWORD = 'secret_sauce';
+    var USERS = ['standard_user', 'locked_out_user', 'problem_user',
+        'performance_glitch_user', 'error_user', 'visual_user'];
+    var GLITCH_DELAY_MILLIS = 3000;
+    var SESSION_MINUTES = 10;
+
+    var PRODUCTS = [
+        {id: 4, name: 'Sauce Labs Backpack', price: 29.99,
+            desc: 'carry.allTheThings() with the sleek, streamlined Sly Pack that melds uncompromising style with unequaled laptop and tablet protection.'},
+        {id: 0, name: 'Sauce Labs Bike Light', price: 9.99,
+            desc: "A red light isn't the desired state in testing but it sure helps when riding your bike at night. Water-resistant with 3 lighting modes, 1 AAA battery included."},
+        {id: 1, name: 'Sauce Labs Bolt T-Shirt', price: 15.99,
+            desc: 'Get your testing superhero on with the Sauce Labs bolt T-shirt. From American Apparel, 100% ringspun combed cotton, heather gray with red bolt.'},
+        {id: 5, name: 'Sauce Labs Fleece Jacket', price: 49.99,
+            desc: "It's not every day that you come across a midweight quarter-zip fleece jacket capable of handling everything from a relaxing day outdoors to a busy day at the office."},
+        {id: 2, name: 'Sauce Labs Onesie', price: 7.99,
+            desc: "Rib snap infant onesie for the junior automation engineer in development. Reinforced 3-snap bottom closure, two-needle hemmed sleeved and bottom won't unravel."},
+        {id: 3, name: 'Test.allTheThings() T-Shirt (Red)', price: 15.99,
+            desc: 'This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard to automate a few tests. Super-soft and comfy ringspun combed cotton.'}
+    ];
+
+    var SORTS = {
+        az: {label: 'Name (A to Z)', compare: function (a, b) { return a.name.localeCompare(b.name); }},
+        za: {label: 'Name (Z to A)', compare: function (a, b) { return b.name.localeCompare(a.name); }},
+        lohi: {label: 'Price (low to high)', compare: function (a, b) { return a.price - b.price; }},
+        hilo: {label: 'Price (high to low)', compare: function (a, b) { return b.price - a.price; }}
+    };
+
+    var root = document.getElementById('root');
+
+    // ---------- state ----------
+
+    function currentUser() {
+        var match = document.cookie.match(/(?:^|;\s*)session-username=([^;]+)/);
+        return match ? decodeURIComponent(match[1]) : null;
+    }
+
+    function setUser(username) {
+        var expires = new Date(Date.now() + SESSION_MINUTES * 60 * 1000).toUTCString();
+        document.cookie = 'session-username=' + encodeURIComponent(username) + '; expires=' + expires + '; path=/';
+    }
+
+    function clearUser() {
+        document.cookie = 'session-username=; expires=Thu, 01 Jan 1970 00:00:00 GMT; path=/';
+    }
+
+    function cart() {
+        try {
+            return JSON.parse(localStorage.getItem('cart-contents')) || [];
+        } catch (e) {
+            return [];
+        }
+    }
+
+    function saveCart(ids) {
+        if (ids.length === 0) {
+            localStorage.removeItem('cart-contents');
+        } else {
+            localStorage.setItem('cart-contents', JSON.stringify(ids));
+        }
+    }
+
+    function product(id) {
+        for (var i = 0; i < PRODUCTS.length; i++) {
+            if (PRODUCTS[i].id === id) {
+                return PRODUCTS[i];
+            }
+        }
+        return null;
+    }
+
+    function slug(p) {
+        return p.name.toLowerCase().replace(/\s/g, '-');
+    }
+
+    function price(p) {
+        return '$' + p.price.toFixed(2);
+    }
+
+    function escapeHtml(text) {
+        return String(text).replace(/&/g, '&amp;').replace(/</g, '&lt;').replace(/>/g, '&gt;')
+            .replace(/"/g, '&quot;');
+    }
+
+    function imageSrc(p) {
+        // problem_user sees the same picture for every product, like on the real site
+        var key = currentUser() === 'problem_user' ? 'problem' : slug(p);
+        return '/static/media/product.svg?item=' + encodeURIComponent(key);
+    }
+
+    function go(path) {
+        window.location.href = path;
+    }
+
+    // ---------- shared fragments ----------
+
+    function header(title, secondary) {
+        return '<div class="header_container" id="header_container" data-test="header-container">'
+            + '<div class="primary_header" data-test="primary-header">'
+            + '<div id="menu_button_container"><div class="bm-burger-button">'
+            + '<button type="button" id="react-burger-menu-btn">Open Menu</button></div>'
+            + '<div class="bm-menu-wrap" aria-hidden="true" style="display: none;">'
+            + '<nav class="bm-item-list">'
+            + '<a id="inventory_sidebar_link" class="bm-item menu-item" href="/inventory.html" data-test="inventory-sidebar-link">All Items</a>'
+            + '<a id="about_sidebar_link" class="bm-item menu-item" href="https://saucelabs.com/" data-test="about-sidebar-link">About</a>'
+            + '<a id="logout_sidebar_link" class="bm-item menu-item" href="#" data-test="logout-sidebar-link">Logout</a>'
+            + '<a id="reset_sidebar_link" class="bm-item menu-item" href="#" data-test="reset-sidebar-link">Reset App State</a>'
+            + '</nav><button type="button" id="react-burger-cross-btn">Close Menu</button></div></div>'
+            + '<div class="header_label"><div class="app_logo">Swag Labs</div></div>'
+            + '<div id="shopping_cart_container" class="shopping_cart_container">'
+            + '<a class="shopping_cart_link" data-test="shopping-cart-link"></a></div>'
+            + '</div>'
+            + '<div class="header_secondary_container" data-test="secondary-header">'
+            + '<span class="title" data-test="title">' + escapeHtml(title) + '</span>'
+            + (secondary || '')
+            + '</div></div>';
+    }
+
+    function renderBadge() {
+        var link = document.querySelector('.shopping_cart_link');
+        if (!link) {
+            return;
+        }
+        var count = cart().length;
+        var badge = link.querySelector('.shopping_cart_badge');
+        if (count === 0) {
+            if (badge) {
+                link.removeChild(badge);
+            }
+            return;
+        }
+        if (!badge) {
+            badge = document.createElement('span');
+            badge.className = 'shopping_cart_badge';
+            badge.setAttribute('data-test', 'shopping-cart-badge');
+            link.appendChild(badge);
+        }
+        badge.textContent = String(count);
+    }
+
+    // Updates an add/remove button in place so element references held by tests stay valid
+    function renderCartButton(button, p) {
+        var inCart = cart().indexOf(p.id) >= 0;
+        var base = button.getAttribute('data-kind') === 'cart' ? 'cart_button' : 'btn_inventory';
+        button.id = (inCart ? 'remove-' : 'add-to-cart-') + slug(p);
+        button.name = button.id;
+        button.setAttribute('data-test', button.id);
+        button.className = 'btn ' + (inCart ? 'btn_secondary' : 'btn_primary') + ' btn_small ' + base;
+        button.textContent = inCart ? 'Remove' : 'Add to cart';
+    }
+
+    function cartButton(p, kind) {
+        return '<button type="button" class="btn btn_small" data-kind="' + kind + '" data-product="' + p.id + '"></button>';
+    }
+
+    function toggleCart(id) {
+        var ids = cart();
+        var index = ids.indexOf(id);
+        if (index >= 0) {
+            ids.splice(index, 1);
+        } else {
+            ids.push(id);
+        }
+        saveCart(ids);
+    }
+
+    function refreshButtons() {
+        var buttons = document.querySelectorAll('button[data-product]');
+        for (var i = 0; i < buttons.length; i++) {
+            renderCartButton(buttons[i], product(Number(buttons[i].getAttribute('data-product'))));
+        }
+        renderBadge();
+    }
+
+    function bindHeader() {
+        var menu = document.querySelector('.bm-menu-wrap');
+        document.getElementById('react-burger-menu-btn').addEventListener('click', function () {
+            menu.style.display = 'block';
+            menu.setAttribute('aria-hidden', 'false');
+        });
+        document.getElementById('react-burger-cross-btn').addEventListener('click', function () {
+            menu.style.display = 'none';
+            menu.setAttribute('aria-hidden', 'true');
+        });
+        document.getElementById('logout_sidebar_link').addEventListener('click', function (event) {
+            event.preventDefault();
+            clearUser();
+            go('/');
+        });
+        document.getElementById('reset_sidebar_link').addEventListener('click', function (event) {
+            event.preventDefault();
+            saveCart([]);
+            refreshButtons();
+        });
+        document.querySelector('.shopping_cart_link').addEventListener('click', function () {
+            go('/cart.html');
+        });
+        renderBadge();
+    }
+
+    function bindCartButtons(onChange) {
+        var buttons = document.querySelectorAll('button[data-product]');
+        Array.prototype.forEach.call(buttons, function (button) {
+            var p = product(Number(button.getAttribute('data-product')));
+            renderCartButton(button, p);
+            button.addEventListener('click', function () {
+                toggleCart(p.id);
+                renderCartButton(button, p);
+                renderBadge();
+                if (onChange) {
+                    onChange(button, p);
+                }
+            });
+        });
+    }
+
+    // ---------- pages ----------
+
+    function loginPage() {
+        var error = sessionStorage.getItem('login-error');
+        sessionStorage.removeItem('login-error');
+        root.innerHTML = '<div class="login_container"><div class="login_logo">Swag Labs</div>'
+            + '<div class="login_wrapper"><form id="login_form">'
+            + '<div class="form_group"><input class="input_error form_input" placeholder="Username" type="text"'
+            + ' data-test="username" id="user-name" name="user-name" autocorrect="off" autocapitalize="none"></div>'
+            + '<div class="form_group"><input class="input_error form_input" placeholder="Password" type="password"'
+            + ' data-test="password" id="password" name="password" autocorrect="off" autocapitalize="none"></div>'
+            + '<div class="error-message-container"></div>'
+            + '<input type="submit" class="submit-button btn_action" data-test="login-button" id="login-button"'
+            + ' name="login-button" value="Login">'
+            + '</form></div></div>';
+
+        var showError = function (message) {
+            document.querySelector('.error-message-container').innerHTML =
+                '<h3 data-test="error">' + escapeHtml(message) + '</h3>';
+        };
+        if (error) {
+            showError(error);
+        }
+
+        document.getElementById('login_form').addEventListener('submit', function (event) {
+            event.preventDefault();
+            var username = document.getElementById('user-name').value;
+            var password = document.getElementById('password').value;
+            if (!username) {
+                return showError('Epic sadface: Username is required');
+            }
+            if (!password) {
+                return showError('Epic sadface: Password is required');
+            }
+            if (USERS.indexOf(username) < 0 || password !== PASSWORD) {
+                return showError('Epic sadface: Username and password do not match any user in this service');
+            }
+            if (username === 'locked_out_user') {
+                return showError('Epic sadface: Sorry, this user has been locked out.');
+            }
+            setUser(username);
+            var delay = username === 'performance_glitch_user' ? GLITCH_DELAY_MILLIS : 0;
+            setTimeout(function () { go('/inventory.html'); }, delay);
+        });
+    }
+
+    function inventoryPage() {
+        var options = Object.keys(SORTS).map(function (key) {
+            return '<option value="' + key + '">' + SORTS[key].label + '</option>';
+        }).join('');
+        var items = PRODUCTS.slice().sort(SORTS.az.compare).map(function (p) {
+            return '<div class="inventory_item" data-test="inventory-item" data-product-id="' + p.id + '">'
+                + '<div class="inventory_item_img"><a href="/inventory-item.html?id=' + p.id + '" id="item_' + p.id + '_img_link">'
+                + '<img alt="' + escapeHtml(p.name) + '" class="inventory_item_img" src="' + imageSrc(p) + '"></a></div>'
+                + '<div class="inventory_item_description"><div class="inventory_item_label">'
+                + '<a href="/inventory-item.html?id=' + p.id + '" id="item_' + p.id + '_title_link">'
+                + '<div class="inventory_item_name">' + escapeHtml(p.name) + '</div></a>'
+                + '<div class="inventory_item_desc">' + escapeHtml(p.desc) + '</div></div>'
+                + '<div class="pricebar"><div class="inventory_item_price">' + price(p) + '</div>'
+                + cartButton(p, 'inventory') + '</div></div></div>';
+        }).join('');
+
+        root.innerHTML = '<div id="page_wrapper" class="page_wrapper"><div id="contents_wrapper">'
+            + header('Products', '<div class="right_component"><span class="select_container">'
+                + '<span class="active_option">' + SORTS.az.label + '</span>'
+                + '<select class="product_sort_container" data-test="product-sort-container">' + options
+                + '</select></span></div>')
+            + '<div id="inventory_container" class="inventory_container"><div>'
+            + '<div class="inventory_list">' + items + '</div></div></div></div></div>';
+
+        bindHeader();
+        bindCartButtons();
+
+        var select = document.querySelector('.product_sort_container');
+        select.addEventListener('change', function () {
+            var sort = SORTS[select.value];
+            document.querySelector('.active_option').textContent = sort.label;
+            var list = document.querySelector('.inventory_list');
+            // Move the existing nodes so references to items and buttons survive a re-sort
+            Array.prototype.slice.call(list.children)
+                .sort(function (a, b) {
+                    return sort.compare(product(Number(a.getAttribute('data-product-id'))),
+                        product(Number(b.getAttribute('data-product-id'))));
+                })
+                .forEach(function (node) { list.appendChild(node); });
+        });
+    }
+
+    function itemPage() {
+        var id = Number(new URLSearchParams(window.location.search).get('id'));
+        var p = product(id);
+        if (!p) {
+            root.innerHTML = header('Item not found') + '<div class="inventory_details">ITEM NOT FOUND</div>';
+            bindHeader();
+            return;
+        }
+        root.innerHTML = '<div id="page_wrapper" class="page_wrapper"><div id="contents_wrapper">'
+            + header('', '<button type="button" class="btn btn_secondary back btn_large inventory_details_back_button"'
+                + ' id="back-to-products" data-test="back-to-products">Back to products</button>')
+            + '<div id="inventory_item_container" class="inventory_item_container"><div class="inventory_details">'
+            + '<div class="inventory_details_container"><div class="inventory_details_img_container">'
+            + '<img alt="' + escapeHtml(p.name) + '" class="inventory_details_img" src="' + imageSrc(p) + '"></div>'
+            + '<div class="inventory_details_desc_container">'
+            + '<div class="inventory_details_name large_size" data-test="inventory-item-name">' + escapeHtml(p.name) + '</div>'
+            + '<div class="inventory_details_desc large_size" data-test="inventory-item-desc">' + escapeHtml(p.desc) + '</div>'
+            + '<div class="inventory_details_price" data-test="inventory-item-price">' + price(p) + '</div>'
+            + cartButton(p, 'inventory') + '</div></div></div></div></div></div>';
+        bindHeader();
+        bindCartButtons();
+        document.getElementById('back-to-products').addEventListener('click', function () {
+            go('/inventory.html');
+        });
+    }
+
+    function cartRow(p, withButton) {
+        return '<div class="cart_item" data-test="inventory-item" data-product-id="' + p.id + '">'
+            + '<div class="cart_quantity" data-test="item-quantity">1</div>'
+            + '<div class="cart_item_label"><a href="/inventory-item.html?id=' + p.id + '" id="item_' + p.id + '_title_link">'
+            + '<div class="inventory_item_name">' + escapeHtml(p.name) + '</div></a>'
+            + '<div class="inventory_item_desc">' + escapeHtml(p.desc) + '</div>'
+            + '<div class="item_pricebar"><div class="inventory_item_price">' + price(p) + '</div>'
+            + (withButton ? cartButton(p, 'cart') : '') + '</div></div></div>';
+    }
+
+    function cartPage() {
+        var rows = cart().map(product).filter(Boolean).map(function (p) { return cartRow(p, true); }).join('');
+        root.innerHTML = '<div id="page_wrapper" class="page_wrapper"><div id="contents_wrapper">'
+            + header('Your Cart')
+            + '<div id="cart_contents_container" class="cart_contents_container"><div>'
+            + '<div class="cart_list"><div class="cart_quantity_label">QTY</div>'
+            + '<div class="cart_desc_label">Description</div>' + rows + '</div>'
+            + '<div class="cart_footer">'
+            + '<button type="button" class="btn btn_secondary back btn_medium" id="continue-shopping" data-test="continue-shopping">Continue Shopping</button>'
+            + '<button type="button" class="btn btn_action btn_medium checkout_button" id="checkout" data-test="checkout">Checkout</button>'
+            + '</div></div></div></div></div>';
+        bindHeader();
+        bindCartButtons(function (button) {
+            // Removing from the cart page drops the whole row
+            var row = button.closest('.cart_item');
+            row.parentNode.removeChild(row);
+        });
+        document.getElementById('continue-shopping').addEventListener('click', function () {
+            go('/inventory.html');
+        });
+        document.getElementById('checkout').addEventListener('click', function () {
+            go('/checkout-step-one.html');
+        });
+    }
+
+    function checkoutStepOnePage() {
+        root.innerHTML = '<div id="page_wrapper" class="page_wrapper"><div id="contents_wrapper">'
+            + header('Checkout: Your Information')
+            + '<div id="checkout_info_container" class="checkout_info_container"><form id="checkout_form">'
+            + '<div class="checkout_info">'
+            + '<div class="form_group"><input class="input_error form_input" placeholder="First Name" type="text" data-test="firstName" id="first-name" name="firstName"></div>'
+            + '<div class="form_group"><input class="input_error form_input" placeholder="Last Name" type="text" data-test="lastName" id="last-name" name="lastName"></div>'
+            + '<div class="form_group"><input class="input_error form_input" placeholder="Zip/Postal Code" type="text" data-test="postalCode" id="postal-code" name="postalCode"></div>'
+            + '<div class="error-message-container"></div></div>'
+            + '<div class="checkout_buttons">'
+            + '<button type="button" class="btn btn_secondary back btn_medium cart_cancel_link" id="cancel" data-test="cancel">Cancel</button>'
+            + '<input type="submit" class="submit-button btn btn_primary cart_button btn_action" data-test="continue" id="continue" name="continue" value="Continue">'
+            + '</div></form></div></div></div>';
+        bindHeader();
+        document.getElementById('cancel').addEventListener('click', function () {
+            go('/cart.html');
+        });
+        document.getElementById('checkout_form').addEventListener('submit', function (event) {
+            event.preventDefault();
+            var fields = [['first-name', 'First Name'], ['last-name', 'Last Name'], ['postal-code', 'Postal Code']];
+            for (var i = 0; i < fields.length; i++) {
+                if (!document.getElementById(fields[i][0]).value) {
+                    document.querySelector('.error-message-container').innerHTML =
+                        '<h3 data-test="error">Error: ' + fields[i][1] + ' is required</h3>';
+                    return;
+                }
+            }
+            go('/checkout-step-two.html');
+        });
+    }
+
+    function checkoutStepTwoPage() {
+        var items = cart().map(product).filter(Boolean);
+        var subtotal = items.reduce(function (sum, p) { return sum + p.price; }, 0);
+        var tax = Math.round(subtotal * 8) / 100;
+        root.innerHTML = '<div id="page_wrapper" class="page_wrapper"><div id="contents_wrapper">'
+            + header('Checkout: Overview')
+            + '<div id="checkout_summary_container" class="checkout_summary_container"><div>'
+            + '<div class="cart_list">' + items.map(function (p) { return cartRow(p, false); }).join('') + '</div>'
+            + '<div class="summary_info">'
+            + '<div class="summary_subtotal_label" data-test="subtotal-label">Item total: $' + subtotal.toFixed(2) + '</div>'
+            + '<div class="summary_tax_label" data-test="tax-label">Tax: $' + tax.toFixed(2) + '</div>'
+            + '<div class="summary_total_label" data-test="total-label">Total: $' + (subtotal + tax).toFixed(2) + '</div>'
+            + '<div class="cart_footer">'
+            + '<button type="button" class="btn btn_secondary back btn_medium cart_cancel_link" id="cancel" data-test="cancel">Cancel</button>'
+            + '<button type="button" class="btn btn_action btn_medium cart_button" id="finish" data-test="finish">Finish</button>'
+            + '</div></div></div></div></div></div>';
+        bindHeader();
+        document.getElementById('cancel').addEventListener('click', function () {
+            go('/inventory.html');
+        });
+        document.getElementById('finish').addEventListener('click', function () {
+            saveCart([]);
+            go('/checkout-complete.html');
+        });
+    }
+
+    function checkoutCompletePage() {
+        root.innerHTML = '<div id="page_wrapper" class="page_wrapper"><div id="contents_wrapper">'
+            + header('Checkout: Complete!')
+            + '<div id="checkout_complete_container" class="checkout_complete_container">'
+            + '<h2 class="complete-header" data-test="complete-header">Thank you for your order!</h2>'
+            + '<div class="complete-text" data-test="complete-text">Your order has been dispatched, and will arrive just as fast as the pony can get there!</div>'
+            + '<button type="button" class="btn btn_primary btn_small" id="back-to-products" data-test="back-to-products">Back Home</button>'
+            + '</div></div></div>';
+        bindHeader();
+        document.getElementById('back-to-products').addEventListener('click', function () {
+            go('/inventory.html');
+        });
+    }
+
+    // ---------- routing ----------
+
+    var PROTECTED = {
+        '/inventory.html': inventoryPage,
+        '/inventory-item.html': itemPage,
+        '/cart.html': cartPage,
+        '/checkout-step-one.html': checkoutStepOnePage,
+        '/checkout-step-two.html': checkoutStepTwoPage,
+        '/checkout-complete.html': checkoutCompletePage
+    };
+
+    var path = window.location.pathname;
+    var page = PROTECTED[path];
+    if (!page) {
+        loginPage();
+    } else if (!currentUser()) {
+        sessionStorage.setItem('login-error',
+            "Epic sadface: You can only access '" + path + "' when you are logged in.");
+        window.location.replace('/');
+    } else {
+        page();
+    }
+})();
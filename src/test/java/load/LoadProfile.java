@@ -0,0 +1,46 @@
+package load;
+
+import utils.ConfigReader;
+
+import java.time.Duration;
+
+/**
+ * Shape of a load run: how many virtual shoppers, how fast they arrive, how long they keep shopping
+ * and how many browsers may be open at once. Read from the {@code load.*} keys, which -D options override.
+ *
+ * @param users       concurrent virtual shoppers
+ * @param rampUp      time over which the shoppers start, evenly spaced
+ * @param duration    total run time including the ramp-up; no new journey starts after it
+ * @param thinkTime   pause between two journeys of one shopper
+ * @param maxSessions browsers open at the same time; shoppers beyond it queue for a free one
+ * @param baseUrl     shop under load
+ */
+public record LoadProfile(int users, Duration rampUp, Duration duration, Duration thinkTime,
+                          int maxSessions, String baseUrl) {
+
+    public LoadProfile {
+        if (users < 1 || maxSessions < 1) {
+            throw new IllegalArgumentException("load.users and load.maxSessions must be at least 1");
+        }
+        if (rampUp.compareTo(duration) > 0) {
+            throw new IllegalArgumentException("load.rampUpSeconds must not exceed load.durationSeconds");
+        }
+    }
+
+    public static LoadProfile fromConfig() {
+        int users = ConfigReader.getInt("load.users", 5);
+        String baseUrl = ConfigReader.getProperty("load.baseUrl", "");
+        return new LoadProfile(
+                users,
+                Duration.ofSeconds(ConfigReader.getLong("load.rampUpSeconds", 30)),
+                Duration.ofSeconds(ConfigReader.getLong("load.durationSeconds", 300)),
+                Duration.ofMillis(ConfigReader.getLong("load.thinkTimeMillis", 1000)),
+                ConfigReader.getInt("load.maxSessions", users),
+                baseUrl.isBlank() ? ConfigReader.getProperty("baseUrl") : baseUrl);
+    }
+
+    // Offset of the given shopper's first journey from the start of the run
+    public Duration startOffset(int user) {
+        return rampUp.multipliedBy(user).dividedBy(users);
+    }
+}
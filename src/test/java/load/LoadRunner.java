@@ -0,0 +1,146 @@
+package load;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import utils.ActionMetrics;
+import utils.ConfigReader;
+import utils.DriverManager;
+import utils.FailureKind;
+import utils.LocalSauceDemoServer;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates load by sending virtual shoppers through {@link ShopperJourney} until the run ends.
+ * Each shopper is a virtual thread; it borrows a pooled browser per journey, so at most
+ * {@code load.maxSessions} browsers are open however many shoppers there are. Run with the test classpath:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) -Dload.users=20 -Dload.maxSessions=8 \
+ *      -Dload.baseUrl=https://staging.example.com/ -Dbrowser.profile=headless load.LoadRunner
+ * </pre>
+ * Prints throughput and per-step p50/p95/p99 and writes them to {@code load.reportDir} (default target/load).
+ */
+public class LoadRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadRunner.class);
+
+    public static void main(String[] args) throws InterruptedException {
+        LocalSauceDemoServer.startIfEnabled();
+        LoadProfile profile = LoadProfile.fromConfig();
+
+        // Must be in place before DriverManager creates its pool; explicit -D options still win
+        System.setProperty("baseUrl", profile.baseUrl());
+        System.getProperties().putIfAbsent("pool.maxSize", String.valueOf(profile.maxSessions()));
+        System.getProperties().putIfAbsent("perf.capture", "false");
+        System.getProperties().putIfAbsent("metrics.dir", "target/load/metrics");
+
+        Path reportDir = Path.of(ConfigReader.getProperty("load.reportDir", "target/load"));
+        LoadStatistics statistics = new LoadStatistics();
+        try {
+            Duration elapsed = new LoadRunner(profile, statistics).run();
+            statistics.report(profile, elapsed, reportDir);
+            ActionMetrics.export();
+        } finally {
+            DriverManager.shutdown();
+            LocalSauceDemoServer.stop();
+        }
+        System.exit(statistics.completed() > 0 ? 0 : 1);
+    }
+
+    private final LoadProfile profile;
+    private final LoadStatistics statistics;
+    private final ShopperJourney journey = new ShopperJourney();
+    private final Semaphore sessions;
+    private long startNanos;
+    private long deadlineNanos;
+
+    public LoadRunner(LoadProfile profile, LoadStatistics statistics) {
+        this.profile = profile;
+        this.statistics = statistics;
+        this.sessions = new Semaphore(profile.maxSessions(), true);
+    }
+
+    /**
+     * Runs the load until the configured duration has passed and every started journey has finished.
+     *
+     * @return wall-clock time of the run
+     */
+    public Duration run() throws InterruptedException {
+        log.info("Starting {} virtual shoppers against {}: ramp-up {} s, duration {} s, at most {} browsers",
+                profile.users(), profile.baseUrl(), profile.rampUp().toSeconds(),
+                profile.duration().toSeconds(), profile.maxSessions());
+        startNanos = System.nanoTime();
+        deadlineNanos = startNanos + profile.duration().toNanos();
+        try (ExecutorService shoppers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < profile.users(); user++) {
+                int shopper = user;
+                shoppers.submit(() -> shop(shopper));
+            }
+        }
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+
+    private void shop(int shopper) {
+        MDC.put("test", "shopper-" + shopper);
+        try {
+            sleepUntil(startNanos + profile.startOffset(shopper).toNanos());
+            while (System.nanoTime() < deadlineNanos) {
+                long remaining = deadlineNanos - System.nanoTime();
+                if (!sessions.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+                try {
+                    runJourney(shopper);
+                } finally {
+                    sessions.release();
+                }
+                sleepUntil(Math.min(deadlineNanos, System.nanoTime() + profile.thinkTime().toNanos()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            MDC.remove("test");
+        }
+    }
+
+    // Runs one journey on a pooled browser and hands the browser back for the next shopper
+    private void runJourney(int shopper) {
+        boolean healthy = true;
+        try {
+            // Clears whatever the previous journey on this browser left behind and opens the login page
+            DriverManager.getDriver();
+            DriverManager.resetSession();
+            WebDriver driver = DriverManager.getDriver();
+            journey.run(driver, statistics);
+        } catch (ShopperJourney.JourneyFailure e) {
+            statistics.recordFailure(e.step(), e.getCause());
+            healthy = FailureKind.classify(e.getCause()) != FailureKind.SESSION_LOST;
+            log.warn("Shopper {}: {}", shopper, e.getMessage());
+        } catch (RuntimeException e) {
+            statistics.recordFailure("session", e);
+            healthy = false;
+            log.warn("Shopper {} could not get a browser: {}", shopper, e.getMessage());
+        } finally {
+            if (healthy) {
+                DriverManager.releaseDriver();
+            } else {
+                DriverManager.quitDriver();
+            }
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+}
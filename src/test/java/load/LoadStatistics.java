@@ -0,0 +1,118 @@
+package load;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.FailureKind;
+import utils.LatencyHistogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency of every journey step and of whole journeys, plus completed/failed counts, shared by all
+ * virtual shoppers of a load run. Only successful steps are timed so failures don't skew percentiles.
+ */
+public class LoadStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadStatistics.class);
+
+    private static final String JOURNEY = "journey";
+
+    // Insertion order = journey order, for a readable report
+    private final Map<String, LatencyHistogram> steps = new ConcurrentHashMap<>();
+    private final Map<String, Integer> stepOrder = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> failures = new ConcurrentHashMap<>();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public void recordStep(String step, long nanos) {
+        stepOrder.putIfAbsent(step, stepOrder.size());
+        steps.computeIfAbsent(step, key -> new LatencyHistogram()).record(nanos);
+    }
+
+    public void recordJourney(long nanos) {
+        completed.incrementAndGet();
+        recordStep(JOURNEY, nanos);
+    }
+
+    public void recordFailure(String step, Throwable error) {
+        failed.incrementAndGet();
+        failures.computeIfAbsent(step + ":" + FailureKind.classify(error), key -> new AtomicLong()).incrementAndGet();
+    }
+
+    public long completed() {
+        return completed.get();
+    }
+
+    public long failed() {
+        return failed.get();
+    }
+
+    public double throughputPerSecond(Duration elapsed) {
+        return elapsed.isZero() ? 0 : completed.get() * 1000.0 / elapsed.toMillis();
+    }
+
+    /**
+     * Logs the summary and writes load-report.json and load-report.csv to the given directory.
+     */
+    public void report(LoadProfile profile, Duration elapsed, Path dir) {
+        Map<String, LatencyHistogram> ordered = new TreeMap<>((a, b) ->
+                Integer.compare(stepOrder.getOrDefault(a, Integer.MAX_VALUE), stepOrder.getOrDefault(b, Integer.MAX_VALUE)));
+        ordered.putAll(steps);
+
+        log.info("Load run finished: {} users, {} s, {} journeys completed, {} failed, {} journeys/s",
+                profile.users(), elapsed.toSeconds(), completed(), failed(), round(throughputPerSecond(elapsed)));
+        ordered.forEach((step, histogram) -> log.info("  {} count={} p50={} ms p95={} ms p99={} ms max={} ms",
+                step, histogram.count(), round(histogram.percentileMillis(50)), round(histogram.percentileMillis(95)),
+                round(histogram.percentileMillis(99)), round(histogram.maxMillis())));
+        if (!failures.isEmpty()) {
+            log.warn("  Failures by step and kind: {}", new TreeMap<>(failures));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("baseUrl", profile.baseUrl());
+        report.put("users", profile.users());
+        report.put("maxSessions", profile.maxSessions());
+        report.put("rampUpSeconds", profile.rampUp().toSeconds());
+        report.put("elapsedSeconds", elapsed.toMillis() / 1000.0);
+        report.put("journeysCompleted", completed());
+        report.put("journeysFailed", failed());
+        report.put("journeysPerSecond", round(throughputPerSecond(elapsed)));
+        Map<String, Object> stepSummaries = new LinkedHashMap<>();
+        ordered.forEach((step, histogram) -> stepSummaries.put(step, histogram.summary()));
+        report.put("steps", stepSummaries);
+        Map<String, Long> failureCounts = new TreeMap<>();
+        failures.forEach((key, count) -> failureCounts.put(key, count.get()));
+        report.put("failures", failureCounts);
+
+        StringBuilder csv = new StringBuilder("step,count,meanMs,p50Ms,p95Ms,p99Ms,maxMs\n");
+        ordered.forEach((step, histogram) -> csv.append(step).append(',').append(histogram.count())
+                .append(',').append(round(histogram.meanMillis()))
+                .append(',').append(round(histogram.percentileMillis(50)))
+                .append(',').append(round(histogram.percentileMillis(95)))
+                .append(',').append(round(histogram.percentileMillis(99)))
+                .append(',').append(round(histogram.maxMillis())).append('\n'));
+
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("load-report.json"), new Json().toJson(report), StandardCharsets.UTF_8);
+            Files.writeString(dir.resolve("load-report.csv"), csv, StandardCharsets.UTF_8);
+            log.info("Load report written to {}", dir.toAbsolutePath());
+        } catch (IOException e) {
+            log.warn("Could not write load report: {}", e.getMessage());
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,76 @@
+package load;
+
+import org.openqa.selenium.WebDriver;
+import pages.CartPage;
+import pages.CheckoutPage;
+import pages.LoginPage;
+import pages.ProductsPage;
+import utils.ConfigReader;
+
+/**
+ * One scripted shopping trip through the regular page objects:
+ * login, sort by price, add the first product, open the cart, check out.
+ * Expects the session to be on the login page with no cookies or storage left from an earlier trip.
+ */
+public class ShopperJourney {
+
+    private final String username = ConfigReader.getProperty("load.username", ConfigReader.getProperty("username"));
+    private final String password = ConfigReader.getProperty("load.password", ConfigReader.getProperty("password"));
+
+    /**
+     * Runs the trip, timing every step into {@code statistics}.
+     *
+     * @throws JourneyFailure naming the step that failed
+     */
+    public void run(WebDriver driver, LoadStatistics statistics) {
+        long start = System.nanoTime();
+        ProductsPage products = new ProductsPage(driver);
+        CartPage cart = new CartPage(driver);
+        CheckoutPage checkout = new CheckoutPage(driver);
+
+        step(statistics, "login", () -> new LoginPage(driver).login(username, password));
+        step(statistics, "sort", products::sortByPriceLowHigh);
+        step(statistics, "addToCart", products::addFirstProductToCart);
+        step(statistics, "openCart", () -> {
+            products.navigateToCart();
+            check(cart.isAt(), "cart page not shown");
+        });
+        step(statistics, "checkout", () -> {
+            cart.clickCheckout();
+            checkout.enterInformation("Load", "Shopper", "10001");
+            checkout.finish();
+            check(checkout.isComplete(), "order confirmation not shown");
+        });
+        statistics.recordJourney(System.nanoTime() - start);
+    }
+
+    private static void step(LoadStatistics statistics, String name, Runnable body) {
+        long start = System.nanoTime();
+        try {
+            body.run();
+        } catch (RuntimeException e) {
+            throw new JourneyFailure(name, e);
+        }
+        statistics.recordStep(name, System.nanoTime() - start);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    public static class JourneyFailure extends RuntimeException {
+
+        private final String step;
+
+        JourneyFailure(String step, Throwable cause) {
+            super("Journey failed at step '" + step + "': " + cause.getMessage(), cause);
+            this.step = step;
+        }
+
+        public String step() {
+            return step;
+        }
+    }
+}
@@ -2,14 +2,20 @@ package pages;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
+import utils.ActionMetrics;
 import utils.DriverManager;
+import utils.ElementCache;
 import utils.HelperMethods;
+import utils.PagePerformance;
 
 public class BasePage {
     protected WebDriver driver;
+    // Elements already looked up on this page; stale ones re-resolve themselves
+    protected final ElementCache elements;
 
     public BasePage(WebDriver driver) {
         this.driver = driver;
+        this.elements = new ElementCache(driver);
     }
 
     // Common elements
@@ -17,12 +23,23 @@ public class BasePage {
     private By logoutLink = By.id("logout_sidebar_link");
     private By cartIcon = By.className("shopping_cart_link");
 
+    // Load timings and Web Vitals of the current document, e.g. to assert a budget
+    public PagePerformance capturePerformance(String pageName) {
+        return PagePerformance.capture(driver, pageName);
+    }
+
     public void logout() {
-        HelperMethods.click(menuButton);
-        HelperMethods.click(logoutLink);
+        ActionMetrics.run("BasePage.logout", () -> {
+            HelperMethods.click(menuButton);
+            HelperMethods.click(logoutLink);
+            elements.invalidateAll();
+        });
     }
 
     public void navigateToCart() {
-        HelperMethods.click(cartIcon);
+        ActionMetrics.run("BasePage.navigateToCart", () -> {
+            HelperMethods.click(cartIcon);
+            elements.invalidateAll();
+        });
     }
 }
\ No newline at end of file
@@ -3,17 +3,24 @@ package pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ActionMetrics;
 import utils.HelperMethods;
+import utils.RetryPolicy;
+import utils.SmartWait;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class CartPage extends BasePage {
+
+    private static final Logger log = LoggerFactory.getLogger(CartPage.class);
+
     // Locators
     private final By cartItems = By.cssSelector(".cart_item");
-    private final By itemNames = By.cssSelector(".inventory_item_name");
-    private final By itemPrices = By.cssSelector(".inventory_item_price");
+    private final String cartItemSelector = ".cart_item";
     private final By removeButton = By.id("remove-sauce-labs-bike-light");
     private final By continueShoppingButton = By.id("continue-shopping");
     private final By checkoutButton = By.id("checkout");
@@ -33,62 +40,78 @@ public class CartPage extends BasePage {
         try {
             return HelperMethods.getElements(cartItems); // Use getElements directly, handle presence
         } catch (Exception e) {
-            System.out.println("No cart items found: " + e.getMessage());
+            log.warn("No cart items found: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
 
+    // All cart rows in a single round trip
+    public List<ProductItem> getCartSnapshot() {
+        return ActionMetrics.time("CartPage.getCartSnapshot", () -> ProductItem.collect(driver, cartItemSelector));
+    }
+
     // Get item names
     public List<String> getItemNames() {
-        return getCartItems().stream()
-                .map(item -> item.findElement(itemNames).getText())
+        return getCartSnapshot().stream()
+                .map(ProductItem::name)
                 .collect(Collectors.toList());
     }
 
     // Get item prices
     public List<String> getItemPrices() {
-        return getCartItems().stream()
-                .map(item -> item.findElement(itemPrices).getText())
+        return getCartSnapshot().stream()
+                .map(ProductItem::price)
                 .collect(Collectors.toList());
     }
 
     // Remove item (using the specific remove button)
     public void removeItem() {
-        if (HelperMethods.isElementPresent(removeButton)) {
-            HelperMethods.clickWithRetry(removeButton, 3); // Retry up to 3 times
-        } else {
-            System.out.println("Remove button not found, cart might be empty");
-        }
+        ActionMetrics.run("CartPage.removeItem", () -> {
+            if (HelperMethods.isElementPresent(removeButton)) {
+                int itemCount = driver.findElements(cartItems).size();
+                HelperMethods.clickWithRetry(removeButton);
+                SmartWait.untilCountChanges(driver, cartItems, itemCount); // Wait until the item is gone
+                elements.invalidateAll();
+            } else {
+                log.warn("Remove button not found, cart might be empty");
+            }
+        });
     }
 
     // Remove all items
     public void removeAllItems() {
-        List<WebElement> items = getCartItems();
-        while (!items.isEmpty()) {
-            removeItem();
-            items = getCartItems(); // Refresh the list after removal
-        }
+        ActionMetrics.run("CartPage.removeAllItems", () -> {
+            List<WebElement> items = getCartItems();
+            while (!items.isEmpty()) {
+                removeItem();
+                items = getCartItems(); // Refresh the list after removal
+            }
+        });
     }
 
     // Click Continue Shopping
     public void clickContinueShopping() {
-        HelperMethods.click(continueShoppingButton);
+        ActionMetrics.run("CartPage.clickContinueShopping", () -> {
+            HelperMethods.click(continueShoppingButton);
+            SmartWait.untilUrlContains(driver, "inventory.html");
+            elements.invalidateAll();
+        });
     }
 
     // Click Checkout
     public void clickCheckout() {
-        HelperMethods.click(checkoutButton);
+        ActionMetrics.run("CartPage.clickCheckout", () -> {
+            HelperMethods.click(checkoutButton);
+            elements.invalidateAll();
+        });
     }
 
-    // Get cart item count from badge
+    // Get cart item count from badge, 0 only when there is no badge (cart is empty)
     public int getCartItemCount() {
-        try {
-            HelperMethods.waitForVisibility(cartBadge); // Wait for badge to be visible
-            return Integer.parseInt(HelperMethods.getText(cartBadge));
-        } catch (Exception e) {
-            System.out.println("Error getting cart badge count: " + e.getMessage());
-            return 0; // Return 0 if badge is not visible (cart is empty)
-        }
+        return RetryPolicy.defaults().call("CartPage.getCartItemCount", () -> {
+            List<WebElement> badges = driver.findElements(cartBadge);
+            return badges.isEmpty() ? 0 : Integer.parseInt(badges.get(0).getText());
+        });
     }
 
     // Check if cart is empty
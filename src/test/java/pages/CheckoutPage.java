@@ -1,4 +1,47 @@
 package pages;
 
-public class CheckoutPage {
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import utils.ActionMetrics;
+import utils.HelperMethods;
+import utils.SmartWait;
+
+public class CheckoutPage extends BasePage {
+
+    // Locators
+    private final By firstNameField = By.id("first-name");
+    private final By lastNameField = By.id("last-name");
+    private final By postalCodeField = By.id("postal-code");
+    private final By continueButton = By.id("continue");
+    private final By finishButton = By.id("finish");
+    private final By completeHeader = By.className("complete-header");
+
+    public CheckoutPage(WebDriver driver) {
+        super(driver);
+    }
+
+    // Step one: customer information, continues to the overview
+    public void enterInformation(String firstName, String lastName, String postalCode) {
+        ActionMetrics.run("CheckoutPage.enterInformation", () -> {
+            HelperMethods.waitForVisibility(firstNameField).sendKeys(firstName);
+            driver.findElement(lastNameField).sendKeys(lastName);
+            driver.findElement(postalCodeField).sendKeys(postalCode);
+            HelperMethods.click(continueButton);
+            SmartWait.untilUrlContains(driver, "checkout-step-two.html");
+            elements.invalidateAll();
+        });
+    }
+
+    // Step two: overview, places the order
+    public void finish() {
+        ActionMetrics.run("CheckoutPage.finish", () -> {
+            HelperMethods.click(finishButton);
+            SmartWait.untilUrlContains(driver, "checkout-complete.html");
+            elements.invalidateAll();
+        });
+    }
+
+    public boolean isComplete() {
+        return HelperMethods.isElementPresent(completeHeader);
+    }
 }
@@ -2,9 +2,11 @@ package pages;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import java.time.Duration;
+import utils.ActionMetrics;
+import utils.LoginStateCache;
+import utils.TimeoutProfile;
+import utils.WaitFactory;
 
 public class LoginPage {
     private WebDriver driver;
@@ -13,6 +15,7 @@ public class LoginPage {
     private By usernameField = By.id("user-name");
     private By passwordField = By.id("password");
     private By loginButton = By.id("login-button");
+    private By errorMessage = By.cssSelector("[data-test='error']");
 
     // Constructor
     public LoginPage(WebDriver driver) {
@@ -21,14 +24,41 @@ public class LoginPage {
 
     // Actions
     public void login(String username, String password) {
-        new WebDriverWait(driver, Duration.ofSeconds(10))
-                .until(ExpectedConditions.presenceOfElementLocated(usernameField));
-        driver.findElement(usernameField).sendKeys(username);
+        ActionMetrics.run("LoginPage.login", () -> {
+            WaitFactory.get(driver, TimeoutProfile.SLOW)
+                    .until(ExpectedConditions.presenceOfElementLocated(usernameField));
+            submit(username, password);
+
+            WaitFactory.get(driver, TimeoutProfile.SLOW)
+                    .until(ExpectedConditions.urlContains("inventory.html"));
+        });
+    }
+
+    // Submits credentials the application is expected to reject and returns its error message
+    public String loginExpectingError(String username, String password) {
+        return ActionMetrics.time("LoginPage.loginExpectingError", () -> {
+            WaitFactory.get(driver, TimeoutProfile.SLOW)
+                    .until(ExpectedConditions.presenceOfElementLocated(usernameField));
+            submit(username, password);
+            return WaitFactory.get(driver, TimeoutProfile.NORMAL)
+                    .until(ExpectedConditions.visibilityOfElementLocated(errorMessage)).getText();
+        });
+    }
 
+    // Reuses the cookies/storage of an earlier UI login for this user, falls back to the UI login form
+    public void loginWithCachedSession(String username, String password) {
+        ActionMetrics.run("LoginPage.loginWithCachedSession", () -> {
+            if (LoginStateCache.restore(driver, username)) {
+                return;
+            }
+            login(username, password);
+            LoginStateCache.capture(driver, username);
+        });
+    }
+
+    private void submit(String username, String password) {
+        driver.findElement(usernameField).sendKeys(username);
         driver.findElement(passwordField).sendKeys(password);
         driver.findElement(loginButton).click();
-
-        new WebDriverWait(driver, Duration.ofSeconds(10))
-                .until(ExpectedConditions.urlContains("inventory.html"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+package pages;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of one product row (inventory or cart), read in bulk with a single script call.
+ * Text fields are null when the row lacks that element, so check them before use.
+ */
+public record ProductItem(String name, boolean nameDisplayed,
+                          String price, boolean priceDisplayed,
+                          String description, boolean descriptionDisplayed,
+                          String imageSrc, boolean imageDisplayed,
+                          String buttonId, String buttonText,
+                          boolean buttonDisplayed, boolean buttonEnabled) {
+
+    // Reads every row matching arguments[0] in one round trip instead of one command per element
+    private static final String SNAPSHOT_SCRIPT =
+            "var visible = function (el) {"
+                    + "  if (!el) { return false; }"
+                    + "  var style = window.getComputedStyle(el);"
+                    + "  return style.display !== 'none' && style.visibility !== 'hidden'"
+                    + "      && (el.offsetWidth > 0 || el.offsetHeight > 0 || el.getClientRects().length > 0);"
+                    + "};"
+                    + "var text = function (el) { return el ? el.innerText.trim() : null; };"
+                    + "return Array.prototype.map.call(document.querySelectorAll(arguments[0]), function (item) {"
+                    + "  var name = item.querySelector('.inventory_item_name');"
+                    + "  var price = item.querySelector('.inventory_item_price');"
+                    + "  var desc = item.querySelector('.inventory_item_desc');"
+                    + "  var img = item.querySelector('img.inventory_item_img');"
+                    + "  var button = item.querySelector('button');"
+                    + "  return {"
+                    + "    name: text(name), nameDisplayed: visible(name),"
+                    + "    price: text(price), priceDisplayed: visible(price),"
+                    + "    description: text(desc), descriptionDisplayed: visible(desc),"
+                    + "    imageSrc: img ? img.src : null, imageDisplayed: visible(img),"
+                    + "    buttonId: button ? button.id : null, buttonText: text(button),"
+                    + "    buttonDisplayed: visible(button), buttonEnabled: !!button && !button.disabled"
+                    + "  };"
+                    + "});";
+
+    @SuppressWarnings("unchecked")
+    static List<ProductItem> collect(WebDriver driver, String itemSelector) {
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) ((JavascriptExecutor) driver)
+                .executeScript(SNAPSHOT_SCRIPT, itemSelector);
+        return rows.stream().map(ProductItem::fromRow).toList();
+    }
+
+    private static ProductItem fromRow(Map<String, Object> row) {
+        return new ProductItem(
+                (String) row.get("name"), Boolean.TRUE.equals(row.get("nameDisplayed")),
+                (String) row.get("price"), Boolean.TRUE.equals(row.get("priceDisplayed")),
+                (String) row.get("description"), Boolean.TRUE.equals(row.get("descriptionDisplayed")),
+                (String) row.get("imageSrc"), Boolean.TRUE.equals(row.get("imageDisplayed")),
+                (String) row.get("buttonId"), (String) row.get("buttonText"),
+                Boolean.TRUE.equals(row.get("buttonDisplayed")), Boolean.TRUE.equals(row.get("buttonEnabled")));
+    }
+
+    // Numeric price without the currency sign, e.g. "$29.99" -> 29.99
+    public double priceValue() {
+        return Double.parseDouble(price.replace("$", "").trim());
+    }
+}
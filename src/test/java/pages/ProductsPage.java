@@ -7,14 +7,20 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.support.ui.WebDriverWait;
-import utils.HelperMethods;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ActionMetrics;
+import utils.RetryPolicy;
+import utils.TimeoutProfile;
+import utils.WaitFactory;
 
-import java.time.Duration;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class ProductsPage extends BasePage {
 
+    private static final Logger log = LoggerFactory.getLogger(ProductsPage.class);
+
     // Locators
     private final By productsTitle = By.className("title");
     private final By productImages = By.className("inventory_item_img");
@@ -25,6 +31,7 @@ public class ProductsPage extends BasePage {
     private final By productDescriptions = By.className("inventory_item_desc");
     private final By sortDropdown = By.className("product_sort_container");
     private final By cartBadge = By.className("shopping_cart_badge");
+    private final String inventoryItemSelector = ".inventory_item";
 
     public ProductsPage(WebDriver driver) {
         super(driver);
@@ -33,7 +40,7 @@ public class ProductsPage extends BasePage {
     // Page verification
     public boolean isAt() {
         try {
-            WebElement titleElement = new WebDriverWait(driver, Duration.ofSeconds(10))
+            WebElement titleElement = WaitFactory.get(driver, TimeoutProfile.SLOW)
                     .until(ExpectedConditions.visibilityOfElementLocated(productsTitle));
             return titleElement.isDisplayed() && titleElement.getText().equals("Products");
         } catch (Exception e) {
@@ -43,9 +50,8 @@ public class ProductsPage extends BasePage {
 
     // Product Images
     public List<WebElement> getAllProductImages() {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-        wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(productImages));
-        List<WebElement> images = HelperMethods.getElements(productImages);
+        List<WebElement> images = elements.elements(productImages, by -> WaitFactory.get(driver, TimeoutProfile.NORMAL)
+                .until(ExpectedConditions.visibilityOfAllElementsLocatedBy(by)));
         // Filter images to ensure they have a valid src
         images = images.stream()
                 .filter(img -> {
@@ -54,75 +60,96 @@ public class ProductsPage extends BasePage {
                     return srcValid;
                 })
                 .collect(Collectors.toList());
-        System.out.println("Found " + images.size() + " product images with valid src");
+        log.debug("Found {} product images with valid src", images.size());
         return images;
     }
 
     // Product Names
     public List<WebElement> getAllProductNames() {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-        wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(productNames));
-        List<WebElement> names = HelperMethods.getElements(productNames);
-        System.out.println("Found " + names.size() + " product names");
+        List<WebElement> names = elements.elements(productNames, this::waitForAll);
+        log.debug("Found {} product names", names.size());
         return names;
     }
 
     // Product Prices
     public List<WebElement> getAllProductPrices() {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-        wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(productPrices));
-        List<WebElement> prices = HelperMethods.getElements(productPrices);
-        System.out.println("Found " + prices.size() + " product prices");
+        List<WebElement> prices = elements.elements(productPrices, this::waitForAll);
+        log.debug("Found {} product prices", prices.size());
         return prices;
     }
 
     // Add to Cart Buttons
     public List<WebElement> getAllAddToCartButtons() {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-        wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(addToCartButtons));
-        List<WebElement> buttons = HelperMethods.getElements(addToCartButtons);
-        System.out.println("Found " + buttons.size() + " Add to Cart buttons");
+        List<WebElement> buttons = elements.elements(addToCartButtons, this::waitForAll);
+        log.debug("Found {} Add to Cart buttons", buttons.size());
         return buttons;
     }
 
     // Product Descriptions
     public List<WebElement> getAllProductDescriptions() {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-        wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(productDescriptions));
-        List<WebElement> descriptions = HelperMethods.getElements(productDescriptions);
-        System.out.println("Found " + descriptions.size() + " product descriptions");
+        List<WebElement> descriptions = elements.elements(productDescriptions, this::waitForAll);
+        log.debug("Found {} product descriptions", descriptions.size());
         return descriptions;
     }
 
+    // The wait already returns the matches, so no second findElements is needed
+    private List<WebElement> waitForAll(By locator) {
+        return WaitFactory.get(driver, TimeoutProfile.NORMAL)
+                .until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
+    }
+
+    // Whole inventory (names, prices, descriptions, images, buttons) in a single round trip
+    public List<ProductItem> getInventorySnapshot() {
+        return ActionMetrics.time("ProductsPage.getInventorySnapshot", () -> {
+            List<ProductItem> items = WaitFactory.get(driver, TimeoutProfile.NORMAL).until(d -> {
+                List<ProductItem> rows = ProductItem.collect(d, inventoryItemSelector);
+                return rows.isEmpty() ? null : rows;
+            });
+            log.debug("Captured snapshot of {} products", items.size());
+            return items;
+        });
+    }
+
     // Sorting functionality
     public void sortByNameAZ() {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-        WebElement dropdown = wait.until(ExpectedConditions.elementToBeClickable(sortDropdown));
-        new Select(dropdown).selectByValue("az");
-        // Wait for the page to re-render after sorting
-        wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(productNames));
-        System.out.println("Sorted products by Name (A-Z)");
+        ActionMetrics.run("ProductsPage.sortByNameAZ", () -> {
+            WebDriverWait wait = WaitFactory.get(driver, TimeoutProfile.NORMAL);
+            WebElement dropdown = elements.element(sortDropdown, by -> wait.until(ExpectedConditions.elementToBeClickable(by)));
+            new Select(dropdown).selectByValue("az");
+            // Sorting re-renders the list, so every cached row is outdated
+            elements.invalidateAll();
+            // Wait for the page to re-render after sorting
+            wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(productNames));
+            log.info("Sorted products by Name (A-Z)");
+        });
     }
 
     public void sortByPriceLowHigh() {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-        WebElement dropdown = wait.until(ExpectedConditions.elementToBeClickable(sortDropdown));
-        new Select(dropdown).selectByValue("lohi");
-        // Wait for the page to re-render after sorting
-        wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(productPrices));
-        System.out.println("Sorted products by Price (Low to High)");
+        ActionMetrics.run("ProductsPage.sortByPriceLowHigh", () -> {
+            WebDriverWait wait = WaitFactory.get(driver, TimeoutProfile.NORMAL);
+            WebElement dropdown = elements.element(sortDropdown, by -> wait.until(ExpectedConditions.elementToBeClickable(by)));
+            new Select(dropdown).selectByValue("lohi");
+            elements.invalidateAll();
+            // Wait for the page to re-render after sorting
+            wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(productPrices));
+            log.info("Sorted products by Price (Low to High)");
+        });
     }
 
     // Verify sorting
     public boolean isSortedByNameAZ() {
-        List<String> names = getAllProductNames().stream()
-                .map(WebElement::getText)
+        List<String> names = getInventorySnapshot().stream()
+                .map(ProductItem::name)
                 .collect(Collectors.toList());
 
-        System.out.println("Product names after sorting: " + names);
+        log.debug("Product names after sorting: {}", names);
+        if (names.contains(null)) {
+            log.warn("Sorting not verifiable: a product has no name");
+            return false;
+        }
         for (int i = 0; i < names.size() - 1; i++) {
             if (names.get(i).compareTo(names.get(i + 1)) > 0) {
-                System.out.println("Sorting failed: " + names.get(i) + " comes after " + names.get(i + 1));
+                log.warn("Sorting failed: {} comes after {}", names.get(i), names.get(i + 1));
                 return false;
             }
         }
@@ -130,18 +157,19 @@ public class ProductsPage extends BasePage {
     }
 
     public boolean isSortedByPriceLowHigh() {
-        List<Double> prices = getAllProductPrices().stream()
-                .map(p -> {
-                    String priceText = p.getText().replace("$", "").trim();
-                    System.out.println("Price: " + priceText);
-                    return Double.parseDouble(priceText);
-                })
+        List<ProductItem> items = getInventorySnapshot();
+        if (items.stream().anyMatch(item -> item.price() == null)) {
+            log.warn("Sorting not verifiable: a product has no price");
+            return false;
+        }
+        List<Double> prices = items.stream()
+                .map(ProductItem::priceValue)
                 .collect(Collectors.toList());
 
-        System.out.println("Product prices after sorting: " + prices);
+        log.debug("Product prices after sorting: {}", prices);
         for (int i = 0; i < prices.size() - 1; i++) {
             if (prices.get(i) > prices.get(i + 1)) {
-                System.out.println("Sorting failed: " + prices.get(i) + " comes after " + prices.get(i + 1));
+                log.warn("Sorting failed: {} comes after {}", prices.get(i), prices.get(i + 1));
                 return false;
             }
         }
@@ -150,42 +178,47 @@ public class ProductsPage extends BasePage {
 
     // Cart functionality
     public int getCartItemCount() {
-        try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-            wait.until(ExpectedConditions.visibilityOfElementLocated(cartBadge));
-            int count = Integer.parseInt(HelperMethods.getText(cartBadge));
-            System.out.println("Cart item count: " + count);
+        // The badge is rendered together with the cart change, so no wait is needed: absent means empty.
+        // A badge re-rendered between lookup and read is looked up again, unreadable text fails the test
+        return RetryPolicy.defaults().call("ProductsPage.getCartItemCount", () -> {
+            List<WebElement> badges = driver.findElements(cartBadge);
+            if (badges.isEmpty()) {
+                log.debug("Cart badge not found, count is 0");
+                return 0;
+            }
+            int count = Integer.parseInt(badges.get(0).getText());
+            log.debug("Cart item count: {}", count);
             return count;
-        } catch (Exception e) {
-            System.out.println("Cart badge not found, assuming count is 0");
-            return 0;
-        }
+        });
     }
 
     public void addFirstProductToCart() {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-        WebElement addButton = wait.until(ExpectedConditions.elementToBeClickable(addToCartButtons));
-        // Use JavaScript to click the button to avoid timing issues
-        JavascriptExecutor js = (JavascriptExecutor) driver;
-        js.executeScript("arguments[0].click();", addButton);
-        System.out.println("Clicked Add to Cart for first product using JavaScript");
-        // Wait for the button to change to "Remove"
-        wait.until(ExpectedConditions.presenceOfElementLocated(removeButtons));
-        System.out.println("Add to Cart button changed to Remove, product added successfully");
+        ActionMetrics.run("ProductsPage.addFirstProductToCart", () -> {
+            WebDriverWait wait = WaitFactory.get(driver, TimeoutProfile.NORMAL);
+            WebElement addButton = wait.until(ExpectedConditions.elementToBeClickable(addToCartButtons));
+            // Use JavaScript to click the button to avoid timing issues
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            js.executeScript("arguments[0].click();", addButton);
+            log.info("Clicked Add to Cart for first product using JavaScript");
+            // Wait for the button to change to "Remove"
+            wait.until(ExpectedConditions.presenceOfElementLocated(removeButtons));
+            elements.invalidate(addToCartButtons, removeButtons);
+            log.info("Add to Cart button changed to Remove, product added successfully");
+        });
     }
 
     // Additional utility methods
     public String getFirstProductName() {
         List<WebElement> names = getAllProductNames();
         String name = names.get(0).getText();
-        System.out.println("First product name: " + name);
+        log.debug("First product name: {}", name);
         return name;
     }
 
     public String getFirstProductPrice() {
         List<WebElement> prices = getAllProductPrices();
         String price = prices.get(0).getText();
-        System.out.println("First product price: " + price);
+        log.debug("First product price: {}", price);
         return price;
     }
 
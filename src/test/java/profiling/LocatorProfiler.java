@@ -0,0 +1,402 @@
+package profiling;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pages.BasePage;
+import pages.CartPage;
+import pages.CheckoutPage;
+import pages.LoginPage;
+import pages.ProductsPage;
+import utils.AppState;
+import utils.ConfigReader;
+import utils.DriverManager;
+import utils.LatencyHistogram;
+import utils.LocalSauceDemoServer;
+import utils.SauceDemoProduct;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Times every locator of the page objects (their By fields) and every literal By in the tests against
+ * the live DOM of each SauceDemo page, counts matches, flags slow, ambiguous, loose and brittle locators
+ * and recommends an equivalent faster one. A recommendation must match exactly the same elements in the
+ * same order and beat the original by {@code profiler.minGainPercent} either per round trip or in the
+ * browser's own evaluation. Run from the repository root with the test classpath:
+ * <pre>
+ * java -cp target/classes:target/test-classes:$(cat target/cp.txt) -DlocalServer.enabled=true profiling.LocatorProfiler
+ * </pre>
+ * Writes {@code profiler.reportDir}/locators.csv (default target/locator-profile).
+ */
+public class LocatorProfiler {
+
+    private static final Logger log = LoggerFactory.getLogger(LocatorProfiler.class);
+
+    private static final List<Class<?>> PAGE_CLASSES =
+            List.of(BasePage.class, LoginPage.class, ProductsPage.class, CartPage.class, CheckoutPage.class);
+    private static final Path TEST_SOURCES = Path.of("src/test/java");
+
+    private static final Pattern BY_LITERAL =
+            Pattern.compile("By\\.(id|xpath|cssSelector|className|name|tagName)\\(\"((?:[^\"\\\\]|\\\\.)*)\"\\)");
+    private static final Pattern BY_DESCRIPTION = Pattern.compile("By\\.(\\w+): (.*)", Pattern.DOTALL);
+    private static final Pattern XPATH_CONTAINS = Pattern.compile("^//(\\w+|\\*)\\[contains\\(@([\\w-]+),\\s*'([^']*)'\\)]$");
+    private static final Pattern XPATH_EQUALS = Pattern.compile("^//(\\w+|\\*)\\[@([\\w-]+)='([^']*)']$");
+    // Only a direct driver lookup of one element; scoped lookups (row.findElement) legitimately match more on the page
+    private static final Pattern SINGLE_USAGE = Pattern.compile("driver(\\(\\))?\\.findElement\\(By");
+
+    // Times the locator's own evaluation inside the page, without the WebDriver round trip
+    private static final String IN_BROWSER_SCRIPT =
+            "var type = arguments[0], value = arguments[1], runs = arguments[2], find;"
+                    + " switch (type) {"
+                    + "  case 'xpath': find = function () { return document.evaluate(value, document, null,"
+                    + "      XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null).snapshotLength; }; break;"
+                    + "  case 'cssSelector': find = function () { return document.querySelectorAll(value).length; }; break;"
+                    + "  case 'id': find = function () { return document.querySelectorAll('#' + CSS.escape(value)).length; }; break;"
+                    + "  case 'className': find = function () { return document.getElementsByClassName(value).length; }; break;"
+                    + "  case 'name': find = function () { return document.getElementsByName(value).length; }; break;"
+                    + "  case 'tagName': find = function () { return document.getElementsByTagName(value).length; }; break;"
+                    + "  default: return -1;"
+                    + " }"
+                    + " var start = performance.now();"
+                    + " for (var i = 0; i < runs; i++) { find(); }"
+                    + " return (performance.now() - start) * 1000 / runs;";
+
+    private static final String DESCRIBE_SCRIPT =
+            "return Array.prototype.map.call(arguments[0], function (e) {"
+                    + " return {tag: e.tagName.toLowerCase(), id: e.id || '', dataTest: e.getAttribute('data-test') || '',"
+                    + "         classes: Array.prototype.slice.call(e.classList)}; });";
+
+    private final WebDriver driver;
+    private final int samples = ConfigReader.getInt("profiler.samples", 20);
+    private final int inBrowserRuns = ConfigReader.getInt("profiler.inBrowserRuns", 200);
+    private final double slowMicros = Double.parseDouble(ConfigReader.getProperty("profiler.slowMicros", "100"));
+    private final double minGain = ConfigReader.getInt("profiler.minGainPercent", 10) / 100.0;
+
+    static final class Locator {
+        private final By by;
+        private final String type;
+        private final String value;
+        private final Set<String> origins = new LinkedHashSet<>();
+        // Single only if every use treats it as one element
+        private boolean expectsSingle = true;
+
+        Locator(By by, String type, String value) {
+            this.by = by;
+            this.type = type;
+            this.value = value;
+        }
+
+        String description() {
+            return by.toString();
+        }
+    }
+
+    record Timing(int matches, double medianMs, double p95Ms, double inBrowserMicros) {
+    }
+
+    record Finding(Locator locator, String page, Timing timing, List<String> flags, By recommendation,
+                   Timing recommendationTiming) {
+    }
+
+    public LocatorProfiler(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.getProperties().putIfAbsent("perf.capture", "false");
+        System.getProperties().putIfAbsent("metrics.enabled", "false");
+        LocalSauceDemoServer.startIfEnabled();
+        try {
+            // The bare session: no listeners in the timed path, and elements compare by id
+            WebDriver driver = DriverManager.unwrap(DriverManager.getDriver());
+            LocatorProfiler profiler = new LocatorProfiler(driver);
+            Map<String, Locator> locators = profiler.collect();
+            log.info("Profiling {} locators", locators.size());
+            List<Finding> findings = profiler.profile(locators.values());
+            report(findings, Path.of(ConfigReader.getProperty("profiler.reportDir", "target/locator-profile")));
+        } finally {
+            DriverManager.shutdown();
+            LocalSauceDemoServer.stop();
+        }
+    }
+
+    /**
+     * By fields of the page objects plus By literals in the rest of the test sources, keyed by description.
+     */
+    public Map<String, Locator> collect() throws IOException, ReflectiveOperationException {
+        Map<String, Locator> locators = new LinkedHashMap<>();
+        for (Class<?> pageClass : PAGE_CLASSES) {
+            Object page = pageClass.getConstructor(WebDriver.class).newInstance(driver);
+            for (Field field : pageClass.getDeclaredFields()) {
+                if (field.getType() == By.class) {
+                    field.setAccessible(true);
+                    // Plural field names (productNames, cartItems) hold lists
+                    add(locators, (By) field.get(page), pageClass.getSimpleName() + "." + field.getName(),
+                            !field.getName().endsWith("s"));
+                }
+            }
+        }
+        try (Stream<Path> files = Files.walk(TEST_SOURCES)) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".java"))
+                    .filter(f -> !f.startsWith(TEST_SOURCES.resolve("pages")) && !f.startsWith(TEST_SOURCES.resolve("profiling")))
+                    .toList()) {
+                List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+                for (int i = 0; i < lines.size(); i++) {
+                    Matcher matcher = BY_LITERAL.matcher(lines.get(i));
+                    while (matcher.find()) {
+                        String value = matcher.group(2).replace("\\\"", "\"").replace("\\\\", "\\");
+                        add(locators, toBy(matcher.group(1), value), file.getFileName() + ":" + (i + 1),
+                                SINGLE_USAGE.matcher(lines.get(i)).find());
+                    }
+                }
+            }
+        }
+        return locators;
+    }
+
+    /**
+     * Profiles every locator on every page where it matches something.
+     */
+    public List<Finding> profile(Iterable<Locator> locators) {
+        Map<String, Consumer<WebDriver>> pages = pages();
+        Map<Locator, List<Finding>> byLocator = new LinkedHashMap<>();
+        locators.forEach(locator -> byLocator.put(locator, new ArrayList<>()));
+
+        pages.forEach((page, open) -> {
+            open.accept(driver);
+            Map<Locator, Timing> timings = new LinkedHashMap<>();
+            byLocator.keySet().forEach(locator -> timings.put(locator, time(locator)));
+            double[] matching = timings.values().stream().filter(timing -> timing.matches() > 0)
+                    .mapToDouble(Timing::medianMs).sorted().toArray();
+            double pageMedian = matching.length == 0 ? 0 : matching[matching.length / 2];
+
+            timings.forEach((locator, timing) -> {
+                if (timing.matches() == 0) {
+                    return;
+                }
+                List<String> flags = flags(locator, timing, pageMedian);
+                Optional<Map.Entry<By, Timing>> better = recommend(locator, timing);
+                byLocator.get(locator).add(new Finding(locator, page, timing, flags,
+                        better.map(Map.Entry::getKey).orElse(null), better.map(Map.Entry::getValue).orElse(null)));
+            });
+            log.info("Profiled page {}", page);
+        });
+
+        List<Finding> findings = new ArrayList<>();
+        byLocator.forEach((locator, perPage) -> {
+            if (perPage.isEmpty()) {
+                findings.add(new Finding(locator, "-", new Timing(0, 0, 0, 0),
+                        List.of("NO_MATCH: matches nothing on any profiled page"), null, null));
+            }
+            findings.addAll(perPage);
+        });
+        return findings;
+    }
+
+    // Every page the suite visits, seeded directly so profiling needs no UI navigation
+    private static Map<String, Consumer<WebDriver>> pages() {
+        String user = ConfigReader.getProperty("username");
+        Map<String, Consumer<WebDriver>> pages = new LinkedHashMap<>();
+        pages.put("login", d -> AppState.of(d).landingOn(AppState.Page.LOGIN).apply());
+        // One product in the cart, so both "Add to cart" and "Remove" buttons are on the inventory
+        pages.put("inventory", d -> AppState.of(d).loggedInAs(user).withCart(SauceDemoProduct.BIKE_LIGHT)
+                .landingOn(AppState.Page.INVENTORY).apply());
+        pages.put("item-details", d -> {
+            AppState.of(d).loggedInAs(user).withCart(SauceDemoProduct.BIKE_LIGHT).apply();
+            d.get(ConfigReader.getProperty("baseUrl") + "inventory-item.html?id=" + SauceDemoProduct.BACKPACK.id());
+        });
+        pages.put("cart", d -> AppState.of(d).loggedInAs(user)
+                .withCart(SauceDemoProduct.BIKE_LIGHT, SauceDemoProduct.BACKPACK).landingOn(AppState.Page.CART).apply());
+        pages.put("checkout-information", d -> AppState.of(d).loggedInAs(user).withCart(SauceDemoProduct.BIKE_LIGHT)
+                .landingOn(AppState.Page.CHECKOUT_INFORMATION).apply());
+        pages.put("checkout-overview", d -> AppState.of(d).loggedInAs(user).withCart(SauceDemoProduct.BIKE_LIGHT)
+                .landingOn(AppState.Page.CHECKOUT_OVERVIEW).apply());
+        pages.put("checkout-complete", d -> AppState.of(d).loggedInAs(user)
+                .landingOn(AppState.Page.CHECKOUT_COMPLETE).apply());
+        return pages;
+    }
+
+    Timing time(Locator locator) {
+        return time(locator.by, locator.type, locator.value);
+    }
+
+    private Timing time(By by, String type, String value) {
+        for (int i = 0; i < 3; i++) {
+            driver.findElements(by);
+        }
+        LatencyHistogram histogram = new LatencyHistogram();
+        int matches = 0;
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            matches = driver.findElements(by).size();
+            histogram.record(System.nanoTime() - start);
+        }
+        Object micros = ((JavascriptExecutor) driver).executeScript(IN_BROWSER_SCRIPT, type, value, inBrowserRuns);
+        return new Timing(matches, histogram.percentileMillis(50), histogram.percentileMillis(95),
+                ((Number) micros).doubleValue());
+    }
+
+    private List<String> flags(Locator locator, Timing timing, double pageMedian) {
+        List<String> flags = new ArrayList<>();
+        if (locator.expectsSingle && timing.matches() > 1) {
+            flags.add("AMBIGUOUS: used as a single element but matches " + timing.matches());
+        }
+        Matcher contains = XPATH_CONTAINS.matcher(locator.value);
+        if (locator.type.equals("xpath") && contains.matches()) {
+            String prefix = contains.group(1).replace("*", "") + "[" + contains.group(2) + "^='" + contains.group(3) + "']";
+            int prefixMatches = driver.findElements(By.cssSelector(prefix)).size();
+            if (prefixMatches < timing.matches()) {
+                flags.add("LOOSE: " + (timing.matches() - prefixMatches) + " of its matches have a " + contains.group(2)
+                        + " that contains but does not start with '" + contains.group(3) + "'");
+            }
+        }
+        if (timing.inBrowserMicros() > slowMicros || (pageMedian > 0 && timing.medianMs() > pageMedian * 1.5)) {
+            flags.add(String.format("SLOW: %.1f us in the browser, %.2f ms per lookup", timing.inBrowserMicros(), timing.medianMs()));
+        }
+        if (locator.value.contains(" > ") || locator.value.matches(".*\\[\\d+].*") || locator.value.startsWith("/html")) {
+            flags.add("BRITTLE: depends on the DOM structure");
+        }
+        if (locator.value.contains("text()")) {
+            flags.add("TEXT_MATCH: breaks when the copy changes and has no CSS equivalent");
+        }
+        return flags;
+    }
+
+    /**
+     * The fastest candidate that finds exactly the same elements and is faster by at least minGain.
+     */
+    @SuppressWarnings("unchecked")
+    private Optional<Map.Entry<By, Timing>> recommend(Locator locator, Timing original) {
+        List<WebElement> matched = driver.findElements(locator.by);
+        Set<By> candidates = new LinkedHashSet<>();
+        Matcher contains = XPATH_CONTAINS.matcher(locator.value);
+        Matcher equals = XPATH_EQUALS.matcher(locator.value);
+        if (locator.type.equals("xpath") && contains.matches()) {
+            String tag = contains.group(1).replace("*", "");
+            candidates.add(By.cssSelector(tag + "[" + contains.group(2) + "*='" + contains.group(3) + "']"));
+            candidates.add(By.cssSelector(tag + "[" + contains.group(2) + "^='" + contains.group(3) + "']"));
+        } else if (locator.type.equals("xpath") && equals.matches()) {
+            candidates.add(equals.group(2).equals("id")
+                    ? By.id(equals.group(3))
+                    : By.cssSelector(equals.group(1).replace("*", "") + "[" + equals.group(2) + "='" + equals.group(3) + "']"));
+        }
+
+        List<Map<String, Object>> described = (List<Map<String, Object>>)
+                ((JavascriptExecutor) driver).executeScript(DESCRIBE_SCRIPT, matched);
+        if (described.size() == 1) {
+            Map<String, Object> element = described.get(0);
+            if (!((String) element.get("id")).isEmpty()) {
+                candidates.add(By.id((String) element.get("id")));
+            }
+            if (!((String) element.get("dataTest")).isEmpty()) {
+                candidates.add(By.cssSelector("[data-test='" + element.get("dataTest") + "']"));
+            }
+        }
+        // A class every match shares, e.g. .btn_inventory for all inventory buttons
+        if (!described.isEmpty()) {
+            Set<Object> shared = new LinkedHashSet<>((List<Object>) described.get(0).get("classes"));
+            described.forEach(element -> shared.retainAll((List<Object>) element.get("classes")));
+            shared.forEach(cls -> candidates.add(By.className(String.valueOf(cls))));
+        }
+        candidates.remove(locator.by);
+
+        Map.Entry<By, Timing> best = null;
+        for (By candidate : candidates) {
+            if (!driver.findElements(candidate).equals(matched)) {
+                continue;
+            }
+            Matcher description = BY_DESCRIPTION.matcher(candidate.toString());
+            if (!description.matches()) {
+                continue;
+            }
+            Timing timing = time(candidate, description.group(1), description.group(2));
+            boolean faster = timing.medianMs() < original.medianMs() * (1 - minGain)
+                    || (timing.inBrowserMicros() >= 0 && timing.inBrowserMicros() < original.inBrowserMicros() * (1 - minGain));
+            if (faster && (best == null || timing.medianMs() < best.getValue().medianMs())) {
+                best = Map.entry(candidate, timing);
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    static void report(List<Finding> findings, Path dir) throws IOException {
+        StringBuilder csv = new StringBuilder("locator,origins,page,matches,medianMs,p95Ms,inBrowserUs,flags,"
+                + "recommendation,recommendationMedianMs,recommendationInBrowserUs\n");
+        for (Finding finding : findings) {
+            Timing timing = finding.timing();
+            csv.append(quote(finding.locator().description())).append(',')
+                    .append(quote(String.join(" ", finding.locator().origins))).append(',')
+                    .append(finding.page()).append(',')
+                    .append(timing.matches()).append(',')
+                    .append(round(timing.medianMs())).append(',')
+                    .append(round(timing.p95Ms())).append(',')
+                    .append(round(timing.inBrowserMicros())).append(',')
+                    .append(quote(String.join("; ", finding.flags()))).append(',')
+                    .append(finding.recommendation() == null ? "" : quote(finding.recommendation().toString())).append(',')
+                    .append(finding.recommendation() == null ? "" : round(finding.recommendationTiming().medianMs())).append(',')
+                    .append(finding.recommendation() == null ? "" : round(finding.recommendationTiming().inBrowserMicros()))
+                    .append('\n');
+
+            if (!finding.flags().isEmpty() || finding.recommendation() != null) {
+                log.info("{} ({}) on {}: {}{}", finding.locator().description(), String.join(", ", finding.locator().origins),
+                        finding.page(), finding.flags().isEmpty() ? "ok" : String.join("; ", finding.flags()),
+                        finding.recommendation() == null ? "" : String.format(" -> use %s (%.2f ms vs %.2f ms, %.1f us vs %.1f us)",
+                                finding.recommendation(), finding.recommendationTiming().medianMs(), timing.medianMs(),
+                                finding.recommendationTiming().inBrowserMicros(), timing.inBrowserMicros()));
+            }
+        }
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("locators.csv"), csv, StandardCharsets.UTF_8);
+        log.info("Locator profile written to {}", dir.toAbsolutePath().resolve("locators.csv"));
+    }
+
+    private static void add(Map<String, Locator> locators, By by, String origin, boolean expectsSingle) {
+        Matcher description = BY_DESCRIPTION.matcher(by.toString());
+        if (!description.matches()) {
+            log.debug("Skipping locator {} from {}, unsupported type", by, origin);
+            return;
+        }
+        Locator locator = locators.computeIfAbsent(by.toString(),
+                key -> new Locator(by, description.group(1), description.group(2)));
+        locator.origins.add(origin);
+        locator.expectsSingle &= expectsSingle;
+    }
+
+    private static By toBy(String type, String value) {
+        return switch (type) {
+            case "id" -> By.id(value);
+            case "xpath" -> By.xpath(value);
+            case "cssSelector" -> By.cssSelector(value);
+            case "className" -> By.className(value);
+            case "name" -> By.name(value);
+            case "tagName" -> By.tagName(value);
+            default -> throw new IllegalArgumentException("Unsupported locator type " + type);
+        };
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -1,21 +1,237 @@
 package tests;
 
+import ch.qos.logback.classic.ClassicConstants;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeSuite;
+import utils.ActionMetrics;
+import utils.ConfigReader;
 import utils.DriverManager;
+import utils.LatencyBudget;
+import utils.LocalSauceDemoServer;
+import utils.MethodScheduler;
+import utils.Mutates;
+import utils.NetworkController;
+import utils.NetworkPolicy;
+import utils.NetworkProfile;
+import utils.PerformanceReport;
+import utils.Persona;
+import utils.SessionPolicy;
+import utils.SmartWait;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 public class BaseTest {
-    protected WebDriver driver;
+
+    private static final Logger log = LoggerFactory.getLogger(BaseTest.class);
+    private static final String TEST_KEY = "test";
+
+    // Test instances are shared by the worker threads of a parallel-by-method run,
+    // so pages are cached per thread and tied to the session they were built for
+    private static final ThreadLocal<PageCache> PAGES = new ThreadLocal<>();
+    private static final ThreadLocal<Method> CURRENT_TEST = new ThreadLocal<>();
+    private static final ThreadLocal<NetworkPolicy> NETWORK_POLICY = new ThreadLocal<>();
+    // Test class the thread's session last served, for the CLASS session policy
+    private static final ThreadLocal<Class<?>> SESSION_CLASS = new ThreadLocal<>();
+    // Set once the running test (or its setUp) used the browser, which then needs a reset afterwards
+    private static final ThreadLocal<Boolean> TOUCHED_BROWSER = new ThreadLocal<>();
+
+    // Read-only tests may share data captured once per class instead of loading the page themselves
+    private static final boolean SHARED_READ_ONLY = ConfigReader.getBoolean("fixture.sharedReadOnly", true);
+    private static final boolean CAPTURE_NETWORK_TIMINGS = ConfigReader.getBoolean("network.captureTimings", false);
+
+    private final Map<String, CompletableFuture<Object>> fixtures = new ConcurrentHashMap<>();
+    private final Persona persona;
+
+    protected BaseTest() {
+        this(Persona.configured());
+    }
+
+    // Test classes created per persona by a factory (see Personas)
+    protected BaseTest(Persona persona) {
+        this.persona = persona;
+    }
+
+    @BeforeSuite(alwaysRun = true)
+    public void startLocalServer() {
+        LocalSauceDemoServer.startIfEnabled();
+    }
+
+    // Attributes the latencies and log lines recorded on this thread to the running test
+    @BeforeMethod(alwaysRun = true)
+    public void bindTestContext(Method method, Object[] parameters) {
+        // A persona passed by a data provider overrides the one the instance was created for
+        Persona runAs = Persona.in(parameters).orElse(persona);
+        // Worker threads pick tests of any class, so class scope is enforced where a thread switches classes
+        Class<?> previous = SESSION_CLASS.get();
+        if (SessionPolicy.current() == SessionPolicy.CLASS && previous != null && previous != getClass()) {
+            DriverManager.releaseDriver();
+        }
+        SESSION_CLASS.set(getClass());
+        String testName = runAs.qualify(getClass().getSimpleName() + "." + method.getName());
+        ActionMetrics.startTest(testName);
+        LatencyBudget.startTest(runAs);
+        CURRENT_TEST.set(method);
+        NETWORK_POLICY.set(NetworkPolicy.forTest(method));
+        MDC.put(TEST_KEY, testName);
+        log.info("Starting {}", testName);
+    }
 
     @BeforeMethod
     public void setUp() {
-        driver = DriverManager.getDriver();
+        driver();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown(Method method) {
+        Optional<Mutates> mutation = MethodScheduler.mutation(method);
+        WebDriver current = DriverManager.currentDriver();
+        if (CAPTURE_NETWORK_TIMINGS && current != null) {
+            try {
+                NetworkController.recordResourceTimings(current);
+            } catch (WebDriverException e) {
+                log.debug("No resource timings for {}: {}", method.getName(), e.getMessage());
+            }
+        }
+        if (SessionPolicy.current() == SessionPolicy.METHOD
+                || mutation.map(Mutates::freshSession).orElse(false)) {
+            DriverManager.quitDriver();
+        } else if (mutation.isPresent() || !SHARED_READ_ONLY || Boolean.TRUE.equals(TOUCHED_BROWSER.get())) {
+            DriverManager.resetSession();
+        }
+        // Only tests served entirely from a shared fixture never touched the session and skip the reset
+        TOUCHED_BROWSER.remove();
+        PAGES.remove();
+        // Lets the per-test log file be closed as soon as the queued lines are written
+        log.info(ClassicConstants.FINALIZE_SESSION_MARKER, "Finished {}", ActionMetrics.currentTest());
+        ActionMetrics.endTest();
+        LatencyBudget.endTest();
+        MDC.remove(TEST_KEY);
+        CURRENT_TEST.remove();
+        NETWORK_POLICY.remove();
+    }
+
+    // Releases the session of the thread that finishes the class; other threads release theirs when they
+    // start a test of another class
+    @AfterClass(alwaysRun = true)
+    public void releaseSession() {
+        fixtures.clear();
+        if (SessionPolicy.current() == SessionPolicy.CLASS && SESSION_CLASS.get() == getClass()) {
+            DriverManager.releaseDriver();
+            SESSION_CLASS.remove();
+        }
+    }
+
+    // User this test instance runs as
+    protected Persona persona() {
+        return persona;
+    }
+
+    // Skips tests that need a logged-in user when the persona can't log in
+    protected void requireLogin() {
+        if (!persona.canLogin()) {
+            throw new SkipException(persona + " cannot log in");
+        }
+    }
+
+    // Browser session of the current worker thread, following the running test's network policy
+    protected WebDriver driver() {
+        WebDriver driver = DriverManager.getDriver();
+        TOUCHED_BROWSER.set(true);
+        NetworkPolicy policy = NETWORK_POLICY.get();
+        if (policy != null) {
+            NetworkController.apply(driver, policy);
+        }
+        return driver;
+    }
+
+    /**
+     * True when the running test is read-only (no {@link Mutates}), needs no network profile of its own
+     * and shared fixtures are enabled,
+     * i.e. it can be served from {@link #sharedFixture} without its own login and page load.
+     */
+    protected boolean usesSharedFixture() {
+        Method method = CURRENT_TEST.get();
+        return SHARED_READ_ONLY && method != null && MethodScheduler.mutation(method).isEmpty()
+                && method.getAnnotation(NetworkProfile.class) == null;
+    }
+
+    /**
+     * Builds a value once per test class and hands the same instance to every later caller.
+     * Concurrent callers wait for the first build and share its outcome; after a failed build the next
+     * caller builds again.
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> T sharedFixture(String name, Supplier<T> builder) {
+        // The build navigates and logs in, far too long to run inside the map's own locking
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = fixtures.putIfAbsent(name, created);
+        if (existing != null) {
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                // Waiters see the build's own failure, e.g. the assertion that the page loaded
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        log.info("Building shared fixture '{}' for {}", name, getClass().getSimpleName());
+        try {
+            T value = builder.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            fixtures.remove(name, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // Page object of the given type bound to the current thread's session
+    protected <T> T page(Class<T> type) {
+        WebDriver driver = driver();
+        PageCache cache = PAGES.get();
+        if (cache == null || cache.driver() != driver) {
+            cache = new PageCache(driver, new HashMap<>());
+            PAGES.set(cache);
+        }
+        return type.cast(cache.pages().computeIfAbsent(type, key -> newPage(key, driver)));
+    }
+
+    private static Object newPage(Class<?> type, WebDriver driver) {
+        try {
+            return type.getConstructor(WebDriver.class).newInstance(driver);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create page " + type.getName(), e);
+        }
     }
 
-    @AfterMethod
-    public void tearDown() {
-        DriverManager.quitDriver();
+    @AfterSuite(alwaysRun = true)
+    public void shutdownSessions() {
+        DriverManager.shutdown();
+        SmartWait.printStatistics();
+        ActionMetrics.export();
+        PerformanceReport.write();
+        LocalSauceDemoServer.stop();
     }
 
+    private record PageCache(WebDriver driver, Map<Class<?>, Object> pages) {
+    }
 }
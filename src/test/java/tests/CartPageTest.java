@@ -2,125 +2,116 @@ package tests;
 
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Factory;
 import org.testng.annotations.Test;
 import pages.CartPage;
-import pages.LoginPage;
 import pages.ProductsPage;
-import utils.ConfigReader;
-import utils.DriverManager;
-import org.openqa.selenium.By;
-import utils.HelperMethods;
-
+import utils.AppState;
+import utils.Mutates;
+import utils.PagePerformance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.Persona;
+import utils.SauceDemoProduct;
+
+import java.util.List;
 import java.util.Objects;
 
+// Every test starts from a cart filled in setUp
+@Mutates("cart")
 public class CartPageTest extends BaseTest {
 
-    private ProductsPage productsPage;
-    private CartPage cartPage;
+    private static final Logger log = LoggerFactory.getLogger(CartPageTest.class);
+
+    @Factory(dataProvider = "personas", dataProviderClass = Personas.class)
+    public CartPageTest(Persona persona) {
+        super(persona);
+    }
 
+    // Seeds login and cart straight into the browser instead of clicking through login and inventory
     @BeforeMethod
     public void setUp() {
-        driver = DriverManager.getDriver();
-        driver.get("https://www.saucedemo.com/");
-        System.out.println("Driver initialized successfully");
-        System.out.println("Navigated to saucedemo.com");
-
-        LoginPage loginPage = new LoginPage(driver);
-        productsPage = new ProductsPage(driver);
-        cartPage = new CartPage(driver);
-
-        loginPage.login(
-                ConfigReader.getProperty("username"),
-                ConfigReader.getProperty("password")
-        );
-        System.out.println("Logged in with username: standard_user");
-
-        Assert.assertTrue(productsPage.isAt(),
-                "Products page was not loaded successfully after login");
-        System.out.println("Products page loaded successfully");
-
-        // Add "Sauce Labs Bike Light" to cart directly
-        By addToCartButton = By.id("add-to-cart-sauce-labs-bike-light");
-        HelperMethods.waitForVisibility(addToCartButton);
-        HelperMethods.clickWithRetry(addToCartButton, 3);
-        System.out.println("Clicked Add to Cart for Sauce Labs Bike Light");
-
-        // Wait for cart badge to update to confirm addition
-        HelperMethods.waitForVisibility(By.cssSelector("#shopping_cart_container > a > span"));
-        HelperMethods.wait(2); // Reduced wait to 2 seconds
-        System.out.println("Cart badge updated, count: " + cartPage.getCartItemCount());
-
-        // Navigate to Cart page
-        productsPage.navigateToCart();
-        // Wait for cart page to load and items to appear
-        By cartItemName = By.xpath("//div[@class='inventory_item_name' and text()='Sauce Labs Bike Light']");
-        HelperMethods.waitForVisibility(cartItemName); // Wait for specific item
-        HelperMethods.waitForVisibility(By.cssSelector("#cart_contents_container"));
-        System.out.println("Navigated to Cart page after adding product. Current URL: " + driver.getCurrentUrl());
-
-        // Verify navigation using URL directly
-        Assert.assertTrue(Objects.requireNonNull(driver.getCurrentUrl()).contains("cart.html"),
-                "Failed to navigate to Cart page (URL check failed)");
-        System.out.println("Cart page loaded successfully");
+        requireLogin();
+        AppState.of(driver())
+                .loggedInAs(persona().username())
+                .withCart(SauceDemoProduct.BIKE_LIGHT)
+                .landingOn(AppState.Page.CART)
+                .apply();
+
+        Assert.assertTrue(cartPage().isAt(), "Cart page was not loaded with the seeded cart");
+        log.info("Cart page loaded with {} in the cart", SauceDemoProduct.BIKE_LIGHT.displayName());
+    }
+
+    private ProductsPage productsPage() {
+        return page(ProductsPage.class);
+    }
+
+    private CartPage cartPage() {
+        return page(CartPage.class);
     }
 
     @Test(priority = 1, description = "Verify the cart icon updates correctly after adding an item")
     public void verifyCartIconUpdatesOnAdd() {
-        Assert.assertEquals(cartPage.getCartItemCount(), 1,
+        int count = cartPage().getCartItemCount();
+        Assert.assertEquals(count, 1,
                 "Cart icon did not update correctly after adding an item");
-        System.out.println("Cart badge updated after adding product, count: " + cartPage.getCartItemCount());
+        log.info("Cart badge updated after adding product, count: {}", count);
     }
 
     @Test(priority = 2, description = "Verify cart items are displayed correctly")
     public void verifyCartItemsDisplayedCorrectly() {
-        Assert.assertFalse(cartPage.getCartItems().isEmpty(), "No items found in cart");
-        Assert.assertFalse(cartPage.getItemNames().isEmpty(), "Item names are not displayed");
-        Assert.assertFalse(cartPage.getItemPrices().isEmpty(), "Item prices are not displayed");
-        System.out.println("Cart items verified: Names - " + cartPage.getItemNames() + ", Prices - " + cartPage.getItemPrices());
+        // setUp landed here with a full document load
+        PagePerformance.captureIfEnabled(driver(), "cart");
+        Assert.assertFalse(cartPage().getCartItems().isEmpty(), "No items found in cart");
+        List<String> names = cartPage().getItemNames();
+        List<String> prices = cartPage().getItemPrices();
+        Assert.assertFalse(names.isEmpty(), "Item names are not displayed");
+        Assert.assertFalse(prices.isEmpty(), "Item prices are not displayed");
+        log.info("Cart items verified: Names - {}, Prices - {}", names, prices);
     }
 
     @Test(priority = 3, description = "Verify the Remove button functionality")
     public void verifyRemoveButtonFunctionality() {
-        int initialCount = cartPage.getCartItems().size();
-        cartPage.removeItem();
-        HelperMethods.wait(1); // Reduced wait to 1 second
-        Assert.assertEquals(cartPage.getCartItems().size(), initialCount - 1,
+        int initialCount = cartPage().getCartItems().size();
+        cartPage().removeItem();
+        int newCount = cartPage().getCartItems().size();
+        Assert.assertEquals(newCount, initialCount - 1,
                 "Remove button did not remove the item from cart");
-        System.out.println("Removed item, new cart item count: " + cartPage.getCartItems().size());
+        log.info("Removed item, new cart item count: {}", newCount);
     }
 
     @Test(priority = 4, description = "Verify the cart icon updates correctly when items are removed")
     public void verifyCartIconUpdatesOnRemove() {
-        int initialCount = cartPage.getCartItemCount();
-        cartPage.removeItem();
-        HelperMethods.wait(1); // Reduced wait to 1 second
-        Assert.assertEquals(cartPage.getCartItemCount(), initialCount - 1,
+        int initialCount = cartPage().getCartItemCount();
+        cartPage().removeItem();
+        int newCount = cartPage().getCartItemCount();
+        Assert.assertEquals(newCount, initialCount - 1,
                 "Cart icon did not update correctly after removing an item");
-        System.out.println("Cart icon updated after remove, count: " + cartPage.getCartItemCount());
+        log.info("Cart icon updated after remove, count: {}", newCount);
     }
 
     @Test(priority = 5, description = "Verify the cart count resets after removing all items")
     public void verifyCartCountResets() {
-        cartPage.removeAllItems();
-        HelperMethods.wait(1); // Reduced wait to 1 second
-        Assert.assertEquals(cartPage.getCartItemCount(), 0,
+        cartPage().removeAllItems();
+        int count = cartPage().getCartItemCount();
+        Assert.assertEquals(count, 0,
                 "Cart count did not reset to 0 after removing all items");
-        System.out.println("Cart count reset to: " + cartPage.getCartItemCount());
+        log.info("Cart count reset to: {}", count);
     }
 
     @Test(priority = 6, description = "Verify Continue Shopping button navigates back to the product page")
     public void verifyContinueShoppingNavigation() {
-        cartPage.clickContinueShopping();
-        HelperMethods.wait(1); // Reduced wait to 1 second
-        Assert.assertTrue(productsPage.isAt(), "Continue Shopping did not navigate to Products page");
-        System.out.println("Navigated back to Products page via Continue Shopping");
+        cartPage().clickContinueShopping();
+        Assert.assertTrue(productsPage().isAt(), "Continue Shopping did not navigate to Products page");
+        log.info("Navigated back to Products page via Continue Shopping");
     }
 
     @Test(priority = 7, description = "Verify Checkout button redirects to the checkout page")
     public void verifyCheckoutNavigation() {
-        cartPage.clickCheckout();
-        Assert.assertTrue(Objects.requireNonNull(driver.getCurrentUrl()).contains("checkout-step-one.html"),
+        cartPage().clickCheckout();
+        String checkoutUrl = driver().getCurrentUrl();
+        Assert.assertTrue(Objects.requireNonNull(checkoutUrl).contains("checkout-step-one.html"),
                 "Checkout button did not redirect to the checkout page");
-        System.out.println("Redirected to checkout page. Current URL: " + driver.getCurrentUrl());
+        log.info("Redirected to checkout page. Current URL: {}", checkoutUrl);
     }
 }
\ No newline at end of file
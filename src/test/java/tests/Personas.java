@@ -0,0 +1,28 @@
+package tests;
+
+import org.testng.annotations.DataProvider;
+import utils.UserMatrix;
+
+/**
+ * Feeds the persona factories of the test classes from the user matrix (users.csv), so every selected
+ * SauceDemo user gets its own instance of each class. The instances' methods run side by side in the
+ * suite's method-parallel pool; their step latencies are tracked per persona by LatencyBudget.
+ */
+public class Personas {
+
+    @DataProvider(name = "personas", parallel = true)
+    public static Object[][] personas() {
+        return UserMatrix.selected().stream()
+                .map(persona -> new Object[]{persona})
+                .toArray(Object[][]::new);
+    }
+
+    // Users the login form must turn away, always taken from the whole matrix
+    @DataProvider(name = "rejectedPersonas", parallel = true)
+    public static Object[][] rejectedPersonas() {
+        return UserMatrix.all().stream()
+                .filter(persona -> !persona.canLogin())
+                .map(persona -> new Object[]{persona})
+                .toArray(Object[][]::new);
+    }
+}
@@ -1,59 +1,96 @@
 package tests;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Factory;
 import org.testng.annotations.Test;
 import pages.LoginPage;
+import pages.ProductItem;
 import pages.ProductsPage;
 import utils.ConfigReader;
-import utils.DriverManager;
-import java.time.Duration;
+import utils.Mutates;
+import utils.NetworkProfile;
+import utils.PagePerformance;
+import utils.Persona;
+import utils.ResourceType;
+import utils.TimeoutProfile;
+import utils.WaitFactory;
+
 import java.util.List;
 import static org.testng.Assert.assertEquals;
 
 public class ProductsTest extends BaseTest {
 
-    private ProductsPage productsPage;
+    private static final Logger log = LoggerFactory.getLogger(ProductsTest.class);
+
+    @Factory(dataProvider = "personas", dataProviderClass = Personas.class)
+    public ProductsTest(Persona persona) {
+        super(persona);
+    }
 
     @BeforeMethod
     public void setUp() {
-        driver = DriverManager.getDriver();
-        driver.get("https://www.saucedemo.com/");
-        System.out.println("Navigated to saucedemo.com");
+        requireLogin();
+        // Read-only tests work on the class-wide inventory snapshot, mutating tests get a freshly loaded page
+        if (!usesSharedFixture()) {
+            openInventory();
+        }
+    }
+
+    private void openInventory() {
+        WebDriver driver = driver();
+        driver.get(ConfigReader.getProperty("baseUrl"));
+        log.debug("Navigated to {}", ConfigReader.getProperty("baseUrl"));
 
         // Initialize pages
         LoginPage loginPage = new LoginPage(driver);
-        productsPage = new ProductsPage(driver);
 
         // Perform login
-        loginPage.login(
-                ConfigReader.getProperty("username"),
-                ConfigReader.getProperty("password")
-        );
-        System.out.println("Logged in with username: standard_user");
+        loginPage.loginWithCachedSession(persona().username(), persona().password());
+        log.info("Logged in with username: {}", persona().username());
 
         // Verify products page is loaded
-        Assert.assertTrue(productsPage.isAt(),
+        Assert.assertTrue(productsPage().isAt(),
                 "Products page was not loaded successfully after login");
-        System.out.println("Products page loaded successfully");
+        log.info("Products page loaded successfully");
     }
 
+    private ProductsPage productsPage() {
+        return page(ProductsPage.class);
+    }
+
+    // Inventory rows, loaded once per class for read-only tests
+    private List<ProductItem> inventory() {
+        if (!usesSharedFixture()) {
+            return productsPage().getInventorySnapshot();
+        }
+        return sharedFixture("inventory", () -> {
+            openInventory();
+            return productsPage().getInventorySnapshot();
+        });
+    }
+
+    // Needs images even when a run blocks them with network.block
+    @NetworkProfile(allow = ResourceType.IMAGES)
     @Test(priority = 1, description = "Verify all product images are displayed")
     public void verifyProductImagesDisplay() {
-        List<WebElement> images = productsPage.getAllProductImages();
-        Assert.assertFalse(images.isEmpty(), "No product images found");
-        assertEquals(images.size(), 6, "Expected 6 product images, but found " + images.size());
-
-        boolean allImagesDisplayed = images.stream()
-                .allMatch(img -> {
-                    boolean displayed = img.isDisplayed();
-                    String src = img.getAttribute("src");
+        List<ProductItem> products = inventory();
+        Assert.assertFalse(products.isEmpty(), "No product images found");
+        assertEquals(products.size(), 6, "Expected 6 product images, but found " + products.size());
+
+        boolean allImagesDisplayed = products.stream()
+                .allMatch(product -> {
+                    boolean displayed = product.imageDisplayed();
+                    String src = product.imageSrc();
                     boolean srcValid = src != null && !src.isEmpty();
-                    System.out.println("Image displayed: " + displayed + ", src: " + src);
+                    log.debug("Image displayed: {}, src: {}", displayed, src);
                     return displayed && srcValid;
                 });
 
@@ -63,15 +100,15 @@ public class ProductsTest extends BaseTest {
 
     @Test(priority = 2, description = "Verify product names are displayed and not empty")
     public void verifyProductNames() {
-        List<WebElement> names = productsPage.getAllProductNames();
-        Assert.assertFalse(names.isEmpty(), "No product names found");
-
-        boolean allNamesValid = names.stream()
-                .allMatch(name -> {
-                    boolean displayed = name.isDisplayed();
-                    String text = name.getText();
-                    boolean notEmpty = !text.trim().isEmpty();
-                    System.out.println("Name: " + text + ", displayed: " + displayed);
+        List<ProductItem> products = inventory();
+        Assert.assertFalse(products.isEmpty(), "No product names found");
+
+        boolean allNamesValid = products.stream()
+                .allMatch(product -> {
+                    boolean displayed = product.nameDisplayed();
+                    String text = product.name();
+                    boolean notEmpty = text != null && !text.trim().isEmpty();
+                    log.debug("Name: {}, displayed: {}", text, displayed);
                     return displayed && notEmpty;
                 });
 
@@ -81,15 +118,15 @@ public class ProductsTest extends BaseTest {
 
     @Test(priority = 3, description = "Verify product prices format")
     public void verifyProductPrices() {
-        List<WebElement> prices = productsPage.getAllProductPrices();
-        Assert.assertFalse(prices.isEmpty(), "No product prices found");
-
-        boolean allPricesValid = prices.stream()
-                .allMatch(price -> {
-                    boolean displayed = price.isDisplayed();
-                    String priceText = price.getText();
-                    boolean matchesFormat = priceText.matches("^\\$\\d+\\.\\d{2}$");
-                    System.out.println("Price: " + priceText + ", displayed: " + displayed + ", matches format: " + matchesFormat);
+        List<ProductItem> products = inventory();
+        Assert.assertFalse(products.isEmpty(), "No product prices found");
+
+        boolean allPricesValid = products.stream()
+                .allMatch(product -> {
+                    boolean displayed = product.priceDisplayed();
+                    String priceText = product.price();
+                    boolean matchesFormat = priceText != null && priceText.matches("^\\$\\d+\\.\\d{2}$");
+                    log.debug("Price: {}, displayed: {}, matches format: {}", priceText, displayed, matchesFormat);
                     return displayed && matchesFormat;
                 });
 
@@ -99,14 +136,18 @@ public class ProductsTest extends BaseTest {
 
     @Test(priority = 4, description = "Verify Add to Cart buttons are displayed and enabled")
     public void verifyAddToCartButtons() {
-        List<WebElement> buttons = productsPage.getAllAddToCartButtons();
-        Assert.assertFalse(buttons.isEmpty(), "No Add to Cart buttons found");
-
-        boolean allButtonsFunctional = buttons.stream()
-                .allMatch(btn -> {
-                    boolean displayed = btn.isDisplayed();
-                    boolean enabled = btn.isEnabled();
-                    System.out.println("Add to Cart button displayed: " + displayed + ", enabled: " + enabled);
+        List<ProductItem> products = inventory();
+        // Rows without a button have no button id
+        List<ProductItem> addable = products.stream()
+                .filter(product -> product.buttonId() != null && product.buttonId().startsWith("add-to-cart"))
+                .toList();
+        Assert.assertFalse(addable.isEmpty(), "No Add to Cart buttons found");
+
+        boolean allButtonsFunctional = addable.stream()
+                .allMatch(product -> {
+                    boolean displayed = product.buttonDisplayed();
+                    boolean enabled = product.buttonEnabled();
+                    log.debug("Add to Cart button displayed: {}, enabled: {}", displayed, enabled);
                     return displayed && enabled;
                 });
 
@@ -114,42 +155,45 @@ public class ProductsTest extends BaseTest {
                 "Some Add to Cart buttons are not displayed or enabled");
     }
 
+    @Mutates("sort")
     @Test(priority = 5, description = "Verify sorting by Name (A-Z)")
     public void verifySortingAZ() {
-        productsPage.sortByNameAZ();
-        Assert.assertTrue(productsPage.isSortedByNameAZ(),
+        productsPage().sortByNameAZ();
+        Assert.assertTrue(productsPage().isSortedByNameAZ(),
                 "Products are not sorted correctly by Name (A-Z)");
     }
 
+    @Mutates("sort")
     @Test(priority = 6, description = "Verify sorting by Price (low to high)")
     public void verifySortingPriceLowHigh() {
-        productsPage.sortByPriceLowHigh();
-        Assert.assertTrue(productsPage.isSortedByPriceLowHigh(),
+        productsPage().sortByPriceLowHigh();
+        Assert.assertTrue(productsPage().isSortedByPriceLowHigh(),
                 "Products are not sorted correctly by Price (low to high)");
     }
 
+    @Mutates("cart")
     @Test(priority = 7, description = "Verify adding product to cart")
     public void verifyAddToCartFunctionality() {
-        int initialCount = productsPage.getCartItemCount();
-        System.out.println("Initial cart count: " + initialCount);
-        productsPage.addFirstProductToCart();
-        int newCount = productsPage.getCartItemCount();
-        System.out.println("New cart count: " + newCount);
+        int initialCount = productsPage().getCartItemCount();
+        log.info("Initial cart count: {}", initialCount);
+        productsPage().addFirstProductToCart();
+        int newCount = productsPage().getCartItemCount();
+        log.info("New cart count: {}", newCount);
         assertEquals(newCount, initialCount + 1,
                 "Cart count did not increase after adding product");
     }
 
     @Test(priority = 8, description = "Verify product descriptions are displayed and not empty")
     public void verifyProductDescriptions() {
-        List<WebElement> descriptions = productsPage.getAllProductDescriptions();
-        Assert.assertFalse(descriptions.isEmpty(), "No product descriptions found");
-
-        boolean allDescriptionsValid = descriptions.stream()
-                .allMatch(desc -> {
-                    boolean displayed = desc.isDisplayed();
-                    String text = desc.getText();
-                    boolean notEmpty = !text.trim().isEmpty();
-                    System.out.println("Description: " + text + ", displayed: " + displayed);
+        List<ProductItem> products = inventory();
+        Assert.assertFalse(products.isEmpty(), "No product descriptions found");
+
+        boolean allDescriptionsValid = products.stream()
+                .allMatch(product -> {
+                    boolean displayed = product.descriptionDisplayed();
+                    String text = product.description();
+                    boolean notEmpty = text != null && !text.trim().isEmpty();
+                    log.debug("Description: {}, displayed: {}", text, displayed);
                     return displayed && notEmpty;
                 });
 
@@ -157,59 +201,61 @@ public class ProductsTest extends BaseTest {
                 "Some product descriptions are missing, empty, or not displayed");
     }
 
+    @Mutates("cart")
     @Test(priority = 9, description = "Verify Remove button appears after adding to cart and decreases cart count")
     public void verifyRemoveButtonFunctionality() {
         // Step 1: Add a product to cart (if not already added)
-        if (productsPage.getCartItemCount() == 0) {
-            productsPage.addFirstProductToCart();
+        if (productsPage().getCartItemCount() == 0) {
+            productsPage().addFirstProductToCart();
         }
-        int initialCount = productsPage.getCartItemCount();
-        System.out.println("Initial cart count: " + initialCount);
+        int initialCount = productsPage().getCartItemCount();
+        log.info("Initial cart count: {}", initialCount);
 
         // Step 2: Verify Remove button is displayed for the added product
-        WebElement removeButton = driver.findElement(By.xpath("//*[@id='remove-sauce-labs-backpack']"));
+        WebElement removeButton = driver().findElement(By.xpath("//*[@id='remove-sauce-labs-backpack']"));
         Assert.assertTrue(removeButton.isDisplayed(),
                 "Remove button is not displayed after adding product to cart");
-        System.out.println("Remove button is displayed");
+        log.info("Remove button is displayed");
 
         // Step 3: Click the Remove button
         removeButton.click();
-        System.out.println("Clicked Remove button");
+        log.info("Clicked Remove button");
 
         // Step 4: Verify cart count decreases by 1
-        int updatedCount = productsPage.getCartItemCount();
+        int updatedCount = productsPage().getCartItemCount();
         assertEquals(updatedCount, initialCount - 1,
                 "Cart count did not decrease after removing product");
-        System.out.println("Updated cart count: " + updatedCount);
+        log.info("Updated cart count: {}", updatedCount);
 
         // Step 5: Verify Remove button changes back to "Add to Cart"
-        WebElement addButton = driver.findElement(By.xpath("//*[@id='add-to-cart-sauce-labs-backpack']"));
+        WebElement addButton = driver().findElement(By.xpath("//*[@id='add-to-cart-sauce-labs-backpack']"));
         Assert.assertTrue(addButton.isDisplayed(),
                 "Add to Cart button did not reappear after removal");
-        System.out.println("Add to Cart button is displayed again");
+        log.info("Add to Cart button is displayed again");
     }
 
+    @Mutates("cart")
     @Test(priority = 10, description = "Verify 'Reset App State' persists after page refresh")
     public void verifyResetAppStateFunctionality() {
         // Temporary page methods (would normally be in ProductsPage)
         class TempPageExtensions {
             public void openMenu() {
-                new WebDriverWait(driver, Duration.ofSeconds(2))
+                WaitFactory.get(driver(), TimeoutProfile.FAST)
                         .until(ExpectedConditions.elementToBeClickable(
                                 By.id("react-burger-menu-btn")
                         )).click();
             }
 
             public void resetAppState() {
-                new WebDriverWait(driver, Duration.ofSeconds(2))
+                WaitFactory.get(driver(), TimeoutProfile.FAST)
                         .until(ExpectedConditions.elementToBeClickable(
                                 By.id("reset_sidebar_link")
                         )).click();
             }
 
             public void refreshPage() {
-                driver.navigate().refresh();
-                new WebDriverWait(driver, Duration.ofSeconds(2))
+                driver().navigate().refresh();
+                WaitFactory.get(driver(), TimeoutProfile.FAST)
                         .until(ExpectedConditions.presenceOfElementLocated(
                                 By.className("inventory_item")
                         ));
@@ -218,9 +264,9 @@ public class ProductsTest extends BaseTest {
         TempPageExtensions page = new TempPageExtensions();
 
         // 1. Add multiple items
-        productsPage.addFirstProductToCart();
-        productsPage.getAllAddToCartButtons().get(3).click(); // Add another item
-        int initialCount = productsPage.getCartItemCount();
+        productsPage().addFirstProductToCart();
+        productsPage().getAllAddToCartButtons().get(3).click(); // Add another item
+        int initialCount = productsPage().getCartItemCount();
         assertEquals(initialCount, 2, "Should have 2 items in cart");
 
         // 2. Reset app state
@@ -228,29 +274,30 @@ public class ProductsTest extends BaseTest {
         page.resetAppState();
 
         // 3. Verify immediate reset
-        new WebDriverWait(driver, Duration.ofSeconds(1))
-                .until(d -> productsPage.getCartItemCount() == 0);
-        System.out.println("Cart reset verified before refresh");
+        WaitFactory.get(driver(), TimeoutProfile.FAST)
+                .until(d -> productsPage().getCartItemCount() == 0);
+        log.info("Cart reset verified before refresh");
 
         // 4. Refresh and verify persistence
         page.refreshPage();
-        int postRefreshCount = productsPage.getCartItemCount();
+        int postRefreshCount = productsPage().getCartItemCount();
         assertEquals(postRefreshCount, 0,
                 "Cart should remain empty after refresh");
-        System.out.println("Reset state persisted after refresh");
+        log.info("Reset state persisted after refresh");
 
         // 5. Verify all buttons reset
-        long removeButtons = driver.findElements(By.xpath("//button[text()='REMOVE']"))
+        long removeButtons = driver().findElements(By.xpath("//button[text()='REMOVE']"))
                 .size();
         assertEquals(removeButtons, 0,
                 "All buttons should show 'ADD TO CART' after reset + refresh");
     }
 
 
+    @Mutates("navigation")
     @Test(priority = 11, description = "Verify product details page navigation and content")
     public void verifyProductDetailsPage() {
         // 1. Store product info from inventory list
-        WebElement firstProduct = driver.findElement(By.cssSelector(".inventory_item:first-child"));
+        WebElement firstProduct = driver().findElement(By.cssSelector(".inventory_item:first-child"));
         String expectedName = firstProduct.findElement(By.cssSelector(".inventory_item_name")).getText();
         String expectedPrice = firstProduct.findElement(By.cssSelector(".inventory_item_price")).getText();
         String expectedDesc = firstProduct.findElement(By.cssSelector(".inventory_item_desc")).getText();
@@ -259,36 +306,55 @@ public class ProductsTest extends BaseTest {
         firstProduct.findElement(By.cssSelector(".inventory_item_name")).click();
 
         // 3. Verify details page elements
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(3));
+        WebDriverWait wait = WaitFactory.get(driver(), TimeoutProfile.FAST);
         wait.until(ExpectedConditions.urlContains("inventory-item.html"));
+        PagePerformance.captureIfEnabled(driver(), "item-details");
 
         Assert.assertEquals(
-                driver.findElement(By.cssSelector(".inventory_details_name")).getText(),
+                driver().findElement(By.cssSelector(".inventory_details_name")).getText(),
                 expectedName,
                 "Product name mismatch"
         );
 
         Assert.assertEquals(
-                driver.findElement(By.cssSelector(".inventory_details_price")).getText(),
+                driver().findElement(By.cssSelector(".inventory_details_price")).getText(),
                 expectedPrice,
                 "Product price mismatch"
         );
 
         Assert.assertEquals(
-                driver.findElement(By.cssSelector(".inventory_details_desc")).getText(),
+                driver().findElement(By.cssSelector(".inventory_details_desc")).getText(),
                 expectedDesc,
                 "Product description mismatch"
         );
 
         // 4. Verify back button returns to products
-        driver.findElement(By.id("back-to-products")).click();
+        driver().findElement(By.id("back-to-products")).click();
         wait.until(ExpectedConditions.urlMatches(".*inventory.html$"));
     }
 
+    // Reloads the page it measures, so it needs its own freshly loaded inventory
+    @Mutates("navigation")
+    // Measured with images and fonts like a real visitor, even when a run blocks them
+    @NetworkProfile(allow = {ResourceType.IMAGES, ResourceType.FONTS})
+    @Test(priority = 12, description = "Verify the inventory page loads within its performance budget")
+    public void verifyInventoryPerformanceBudget() {
+        // Reload so the inventory is a full document load with its own navigation and paint timings
+        driver().navigate().refresh();
+        WaitFactory.get(driver(), TimeoutProfile.SLOW)
+                .until(ExpectedConditions.visibilityOfElementLocated(By.className("inventory_list")));
+
+        PagePerformance performance = productsPage().capturePerformance("inventory");
+        log.info("Inventory performance: {}", performance.metrics());
+        Assert.assertTrue(performance.hardNavigation(), "Inventory was not loaded as a full document");
+        performance.assertWithinBudget();
+    }
+
+    @Mutates("cart")
     @Test(priority = 13, description = "Verify shopping cart badge counter updates correctly")
     public void verifyCartBadgeCounter() {
         // 1. Reset state by removing all items
-        driver.findElements(By.cssSelector(".btn_inventory"))
+        driver().findElements(By.cssSelector(".btn_inventory"))
                 .forEach(btn -> {
                     if(btn.getText().equals("REMOVE")) {
                         btn.click();
@@ -296,25 +362,25 @@ public class ProductsTest extends BaseTest {
                 });
 
         // 2. Verify badge is empty initially
-        List<WebElement> badges = driver.findElements(By.cssSelector(".shopping_cart_badge"));
+        List<WebElement> badges = driver().findElements(By.cssSelector(".shopping_cart_badge"));
         Assert.assertTrue(badges.isEmpty(), "Cart badge should be hidden when empty");
 
         // 3. Add items and verify counter
-        driver.findElements(By.cssSelector(".btn_inventory"))
+        driver().findElements(By.cssSelector(".btn_inventory"))
                 .stream()
                 .limit(5)
                 .forEach(btn -> btn.click());
 
         // 4. Verify badge shows correct count
         int badgeCount = Integer.parseInt(
-                driver.findElement(By.cssSelector(".shopping_cart_badge")).getText()
+                driver().findElement(By.cssSelector(".shopping_cart_badge")).getText()
         );
         Assert.assertEquals(badgeCount, 5, "Cart badge shows wrong quantity");
 
         // 5. Remove one item and verify update
-        driver.findElement(By.cssSelector(".btn_inventory")).click();
+        driver().findElement(By.cssSelector(".btn_inventory")).click();
         badgeCount = Integer.parseInt(
-                driver.findElement(By.cssSelector(".shopping_cart_badge")).getText()
+                driver().findElement(By.cssSelector(".shopping_cart_badge")).getText()
         );
         Assert.assertEquals(badgeCount, 4, "Cart badge didn't update after removal");
     }
@@ -0,0 +1,23 @@
+package tests;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import pages.LoginPage;
+import utils.ConfigReader;
+import utils.Persona;
+
+// Runs for every user of the matrix that can't log in (locked_out_user), whatever users.personas selects
+public class RejectedLoginTest extends BaseTest {
+
+    @Test(dataProvider = "rejectedPersonas", dataProviderClass = Personas.class,
+            description = "Verify users the application rejects get an error instead of the products page")
+    public void testRejectedLogin(Persona persona) {
+        WebDriver driver = driver();
+        driver.get(ConfigReader.getProperty("baseUrl"));
+
+        String error = new LoginPage(driver).loginExpectingError(persona.username(), persona.password());
+        Assert.assertFalse(driver.getCurrentUrl().contains("inventory.html"), persona + " got past the login form");
+        Assert.assertFalse(error.isBlank(), "No error message shown for " + persona);
+    }
+}
@@ -1,20 +1,34 @@
 package tests;
 
+import org.openqa.selenium.WebDriver;
 import org.testng.Assert;
+import org.testng.annotations.Factory;
 import org.testng.annotations.Test;
 import pages.LoginPage;
 import pages.ProductsPage;
+import utils.ConfigReader;
+import utils.PagePerformance;
+import utils.Persona;
 
 public class iLoginTest extends BaseTest {
 
+    @Factory(dataProvider = "personas", dataProviderClass = Personas.class)
+    public iLoginTest(Persona persona) {
+        super(persona);
+    }
+
     @Test
     public void testSuccessfulLogin() {
-        driver.get("https://www.saucedemo.com/"); // 
+        requireLogin();
+        WebDriver driver = driver();
+        driver.get(ConfigReader.getProperty("baseUrl"));
+        PagePerformance.captureIfEnabled(driver, "login");
 
         LoginPage loginPage = new LoginPage(driver);
-        loginPage.login("standard_user", "secret_sauce");
+        loginPage.login(persona().username(), persona().password());
 
         ProductsPage productsPage = new ProductsPage(driver);
         Assert.assertTrue(productsPage.isAt(), "Failed to verify Products page is displayed");
+        PagePerformance.captureIfEnabled(driver, "inventory");
     }
 }
@@ -0,0 +1,58 @@
+package utils;
+
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class FailureKindTest {
+
+    @DataProvider
+    public Object[][] failures() {
+        return new Object[][]{
+                {new StaleElementReferenceException("stale"), FailureKind.STALE_ELEMENT},
+                {new ElementClickInterceptedException("covered"), FailureKind.NOT_INTERACTABLE},
+                {new NoSuchElementException("missing"), FailureKind.NOT_FOUND},
+                {new TimeoutException("waited"), FailureKind.TIMEOUT},
+                {new NoSuchSessionException("gone"), FailureKind.SESSION_LOST},
+                {new AssertionError("expected"), FailureKind.ASSERTION},
+                {new IllegalStateException("bug"), FailureKind.OTHER},
+                {new WebDriverException("unknown"), FailureKind.OTHER},
+        };
+    }
+
+    @Test(dataProvider = "failures")
+    public void classifiesByExceptionType(Throwable failure, FailureKind expected) {
+        Assert.assertEquals(FailureKind.classify(failure), expected);
+    }
+
+    @Test
+    public void classifiesByFirstRecognisedCause() {
+        Throwable wrapped = new RuntimeException("click failed",
+                new StaleElementReferenceException("stale", new TimeoutException("waited")));
+
+        Assert.assertEquals(FailureKind.classify(wrapped), FailureKind.STALE_ELEMENT);
+    }
+
+    @Test
+    public void onlyTransientDomFailuresRetryTheAction() {
+        Assert.assertTrue(FailureKind.STALE_ELEMENT.isRetryableAction());
+        Assert.assertTrue(FailureKind.NOT_INTERACTABLE.isRetryableAction());
+        Assert.assertFalse(FailureKind.TIMEOUT.isRetryableAction());
+        Assert.assertFalse(FailureKind.SESSION_LOST.isRetryableAction());
+        Assert.assertFalse(FailureKind.ASSERTION.isRetryableAction());
+    }
+
+    @Test
+    public void assertionsAreNotRetriedAsTests() {
+        Assert.assertTrue(FailureKind.SESSION_LOST.isRetryableTest());
+        Assert.assertTrue(FailureKind.TIMEOUT.isRetryableTest());
+        Assert.assertFalse(FailureKind.ASSERTION.isRetryableTest());
+        Assert.assertFalse(FailureKind.OTHER.isRetryableTest());
+    }
+}
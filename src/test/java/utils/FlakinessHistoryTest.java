@@ -0,0 +1,69 @@
+package utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+public class FlakinessHistoryTest {
+
+    private Path file;
+
+    @BeforeMethod
+    public void createFile() throws IOException {
+        file = Files.createTempDirectory("history").resolve("flakiness.properties");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDir() throws IOException {
+        try (Stream<Path> paths = Files.walk(file.getParent())) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void countsRunsFailuresAndRecoveries() {
+        FlakinessHistory history = FlakinessHistory.load(file);
+
+        history.record("T#a", true, false);
+        history.record("T#a", true, true);
+        history.record("T#a", false, true);
+
+        Assert.assertEquals(history.stats("T#a"), new FlakinessHistory.Stats(3, 1, 1));
+    }
+
+    @Test
+    public void consistentFailureIsNotFlaky() {
+        FlakinessHistory history = FlakinessHistory.load(file);
+        for (int i = 0; i < 3; i++) {
+            history.record("T#a", false, true);
+        }
+
+        Assert.assertTrue(history.stats("T#a").alwaysFails());
+        Assert.assertEquals(history.stats("T#a").flakeRate(), 0.0);
+    }
+
+    // Two shards load the same history, record different tests and save one after the other
+    @Test
+    public void shardsSavingInTurnKeepEachOthersCounts() {
+        FlakinessHistory first = FlakinessHistory.load(file);
+        FlakinessHistory second = FlakinessHistory.load(file);
+
+        first.record("T#a", true, false);
+        second.record("T#b", false, false);
+        first.save();
+        second.save();
+
+        FlakinessHistory merged = FlakinessHistory.load(file);
+        Assert.assertEquals(merged.stats("T#a"), new FlakinessHistory.Stats(1, 0, 0));
+        Assert.assertEquals(merged.stats("T#b"), new FlakinessHistory.Stats(1, 1, 0));
+    }
+}
@@ -0,0 +1,106 @@
+package utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+public class HistoryFileTest {
+
+    private Path dir;
+
+    @BeforeMethod
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("history");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDir() throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void mergeKeepsEntriesItDidNotTouch() throws IOException {
+        Path file = dir.resolve("durations.properties");
+        HistoryFile.merge(file, Map.of("a", "1", "b", "2"), null);
+
+        HistoryFile.merge(file, Map.of("b", "3", "c", "4"), null);
+
+        Properties merged = HistoryFile.read(file);
+        Assert.assertEquals(merged.getProperty("a"), "1");
+        Assert.assertEquals(merged.getProperty("b"), "3");
+        Assert.assertEquals(merged.getProperty("c"), "4");
+    }
+
+    @Test
+    public void mergeCreatesMissingDirectories() throws IOException {
+        Path file = dir.resolve("nested/history/flakiness.properties");
+
+        HistoryFile.merge(file, Map.of("a", "1"), null);
+
+        Assert.assertEquals(HistoryFile.read(file).getProperty("a"), "1");
+    }
+
+    // The temp file is moved over the target, so readers never see a half-written file
+    @Test
+    public void mergeLeavesNoTempFileBehind() throws IOException {
+        Path file = dir.resolve("durations.properties");
+
+        HistoryFile.merge(file, Map.of("a", "1"), null);
+
+        Assert.assertTrue(Files.isRegularFile(file));
+        Assert.assertFalse(Files.exists(dir.resolve("durations.properties.tmp")));
+    }
+
+    @Test
+    public void readOfMissingFileIsEmpty() throws IOException {
+        Assert.assertTrue(HistoryFile.read(dir.resolve("missing.properties")).isEmpty());
+    }
+
+    // Like shards saving at the same time: no writer may drop what another one merged
+    @Test
+    public void concurrentMergesKeepEveryWritersEntries() throws Exception {
+        Path file = dir.resolve("durations.properties");
+        int writers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try {
+            List<Callable<Void>> saves = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                String key = "writer" + i;
+                saves.add(() -> {
+                    HistoryFile.merge(file, Map.of(key, "done"), null);
+                    return null;
+                });
+            }
+            for (Future<Void> save : pool.invokeAll(saves)) {
+                save.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Properties merged = HistoryFile.read(file);
+        Assert.assertEquals(merged.size(), writers);
+        for (int i = 0; i < writers; i++) {
+            Assert.assertEquals(merged.getProperty("writer" + i), "done");
+        }
+    }
+}
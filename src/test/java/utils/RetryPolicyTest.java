@@ -0,0 +1,68 @@
+package utils;
+
+import org.openqa.selenium.StaleElementReferenceException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RetryPolicyTest {
+
+    @Test
+    public void retriesTransientFailureUntilItSucceeds() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = RetryPolicy.defaults().withMaxAttempts(3).call("click", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new StaleElementReferenceException("stale");
+            }
+            return "clicked";
+        });
+
+        Assert.assertEquals(result, "clicked");
+        Assert.assertEquals(attempts.get(), 3);
+    }
+
+    @Test
+    public void doesNotRetryFailureThatIsNotTransient() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Assert.assertThrows(IllegalStateException.class, () -> RetryPolicy.defaults().run("click", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("bug");
+        }));
+        Assert.assertEquals(attempts.get(), 1);
+    }
+
+    @Test
+    public void stopsAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Assert.assertThrows(StaleElementReferenceException.class, () -> RetryPolicy.defaults().withMaxAttempts(2)
+                .run("click", () -> {
+                    attempts.incrementAndGet();
+                    throw new StaleElementReferenceException("stale");
+                }));
+        Assert.assertEquals(attempts.get(), 2);
+    }
+
+    // No attempt may start once the backoff would overrun the elapsed-time budget
+    @Test
+    public void stopsWhenElapsedBudgetIsSpent() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Assert.assertThrows(StaleElementReferenceException.class, () -> RetryPolicy.defaults().withMaxAttempts(10)
+                .withMaxElapsed(Duration.ZERO)
+                .run("click", () -> {
+                    attempts.incrementAndGet();
+                    throw new StaleElementReferenceException("stale");
+                }));
+        Assert.assertEquals(attempts.get(), 1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rejectsZeroAttempts() {
+        RetryPolicy.defaults().withMaxAttempts(0);
+    }
+}
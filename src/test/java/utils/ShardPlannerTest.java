@@ -0,0 +1,69 @@
+package utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ShardPlannerTest {
+
+    @Test
+    public void heaviestUnitGoesToLightestShard() {
+        Map<String, Long> weights = Map.of("a", 7L, "b", 5L, "c", 4L, "d", 3L, "e", 1L);
+
+        List<ShardPlanner.Shard> shards = ShardPlanner.plan(weights, 2);
+
+        Assert.assertEquals(shards.get(0).units(), List.of("a", "d"));
+        Assert.assertEquals(shards.get(0).estimatedMillis(), 10L);
+        Assert.assertEquals(shards.get(1).units(), List.of("b", "c", "e"));
+        Assert.assertEquals(shards.get(1).estimatedMillis(), 10L);
+    }
+
+    @Test
+    public void everyUnitIsAssignedExactlyOnce() {
+        Map<String, Long> weights = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            weights.put("T#" + i, (long) (i * 37 % 11));
+        }
+
+        List<String> assigned = new ArrayList<>();
+        ShardPlanner.plan(weights, 3).forEach(shard -> assigned.addAll(shard.units()));
+
+        Assert.assertEquals(assigned.size(), weights.size());
+        Assert.assertTrue(assigned.containsAll(weights.keySet()));
+    }
+
+    // Every worker computes the plan on its own, so iteration order of the input must not matter
+    @Test
+    public void planDoesNotDependOnInputOrder() {
+        Map<String, Long> forward = new LinkedHashMap<>();
+        Map<String, Long> backward = new LinkedHashMap<>();
+        String[] names = {"a", "b", "c", "d", "e", "f"};
+        for (String name : names) {
+            forward.put(name, 5L);
+        }
+        for (int i = names.length - 1; i >= 0; i--) {
+            backward.put(names[i], 5L);
+        }
+
+        Assert.assertEquals(ShardPlanner.plan(forward, 4), ShardPlanner.plan(backward, 4));
+    }
+
+    @Test
+    public void moreShardsThanUnitsLeavesShardsEmpty() {
+        List<ShardPlanner.Shard> shards = ShardPlanner.plan(Map.of("a", 1L), 3);
+
+        Assert.assertEquals(shards.size(), 3);
+        Assert.assertEquals(shards.get(0).units(), List.of("a"));
+        Assert.assertTrue(shards.get(1).units().isEmpty());
+        Assert.assertTrue(shards.get(2).units().isEmpty());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rejectsZeroShards() {
+        ShardPlanner.plan(Map.of("a", 1L), 0);
+    }
+}